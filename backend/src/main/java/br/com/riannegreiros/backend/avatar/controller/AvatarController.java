@@ -6,26 +6,50 @@ import org.springframework.web.multipart.MultipartFile;
 
 import br.com.riannegreiros.backend.avatar.dto.AvatarResponse;
 import br.com.riannegreiros.backend.avatar.service.AvatarService;
+import br.com.riannegreiros.backend.avatar.service.AvatarVariants;
+import br.com.riannegreiros.backend.config.AuthCookies;
+import br.com.riannegreiros.backend.users.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/avatar")
 public class AvatarController {
 
     private final AvatarService avatarService;
+    private final UserService userService;
+    private final AuthCookies authCookies;
 
-    public AvatarController(AvatarService avatarService) {
+    public AvatarController(AvatarService avatarService, UserService userService, AuthCookies authCookies) {
         this.avatarService = avatarService;
+        this.userService = userService;
+        this.authCookies = authCookies;
     }
 
     @PostMapping
-    public ResponseEntity<AvatarResponse> upload(@RequestParam("file") MultipartFile file) throws Exception {
+    public ResponseEntity<AvatarResponse> upload(@RequestParam("file") MultipartFile file,
+            HttpServletRequest request, HttpServletResponse response) throws Exception {
         String avatarUrl = avatarService.uploadAvatar(file);
-        return ResponseEntity.ok(new AvatarResponse(avatarUrl));
+        authCookies.sendReissuedToken(request, response, userService.reissueToken());
+        return ResponseEntity.ok(new AvatarResponse(avatarUrl, AvatarVariants.urls(avatarUrl)));
+    }
+
+    /**
+     * Takes the image as the raw request body, which is read as it arrives instead of being
+     * spooled to disk like a multipart upload.
+     */
+    @PutMapping
+    public ResponseEntity<AvatarResponse> replace(HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        String avatarUrl = avatarService.uploadAvatar(request.getInputStream(), request.getContentLengthLong());
+        authCookies.sendReissuedToken(request, response, userService.reissueToken());
+        return ResponseEntity.ok(new AvatarResponse(avatarUrl, AvatarVariants.urls(avatarUrl)));
     }
 
     @DeleteMapping
-    public ResponseEntity<Void> delete() {
+    public ResponseEntity<Void> delete(HttpServletRequest request, HttpServletResponse response) {
         avatarService.deleteAvatar();
+        authCookies.sendReissuedToken(request, response, userService.reissueToken());
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,4 +1,6 @@
 package br.com.riannegreiros.backend.avatar.dto;
 
-public record AvatarResponse(String avatarUrl) {
+import java.util.Map;
+
+public record AvatarResponse(String avatarUrl, Map<Integer, String> avatarVariants) {
 }
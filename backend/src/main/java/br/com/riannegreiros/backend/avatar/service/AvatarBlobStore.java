@@ -0,0 +1,195 @@
+package br.com.riannegreiros.backend.avatar.service;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.riannegreiros.backend.storage.service.StorageService;
+import br.com.riannegreiros.backend.util.exceptions.StorageException;
+import jakarta.transaction.Transactional;
+
+/**
+ * Reference-counted avatar objects in {@code avatar_blobs}, keyed by the SHA-256 of the upload.
+ * Releasing the last reference only drops the count to zero; {@link #sweep} later deletes the
+ * objects and the row while holding the row lock, so a concurrent upload of the same picture waits
+ * on that lock instead of writing objects that are about to be deleted.
+ */
+@Component
+public class AvatarBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AvatarBlobStore.class);
+
+    private static final String EXISTS = "SELECT EXISTS (SELECT 1 FROM avatar_blobs WHERE hash = ? AND ref_count > 0)";
+
+    // Touching updated_at also keeps an unused row out of the sweep while the upload completes
+    private static final String RESERVE = """
+            INSERT INTO avatar_blobs (hash, ref_count) VALUES (?, 0)
+            ON CONFLICT (hash) DO UPDATE SET updated_at = now()""";
+
+    private static final String ACQUIRE = """
+            INSERT INTO avatar_blobs (hash, ref_count) VALUES (?, 1)
+            ON CONFLICT (hash) DO UPDATE SET ref_count = avatar_blobs.ref_count + 1, updated_at = now()
+            RETURNING ref_count""";
+
+    private static final String RELEASE =
+            "UPDATE avatar_blobs SET ref_count = ref_count - 1, updated_at = now() WHERE hash = ? AND ref_count > 0";
+
+    private static final String UNUSED =
+            "SELECT hash FROM avatar_blobs WHERE ref_count = 0 AND updated_at < ? ORDER BY updated_at LIMIT ?";
+
+    private static final String LOCK_UNUSED =
+            "SELECT hash FROM avatar_blobs WHERE hash = ? AND ref_count = 0 FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE = "DELETE FROM avatar_blobs WHERE hash = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageService storageService;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration sweepGrace;
+    private final int sweepBatchSize;
+
+    public AvatarBlobStore(DataSource dataSource, StorageService storageService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.avatar.sweep-grace:PT1H}") Duration sweepGrace,
+            @Value("${app.avatar.sweep-batch-size:100}") int sweepBatchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.storageService = storageService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sweepGrace = sweepGrace;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public boolean contains(String contentHash) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS, Boolean.class, contentHash));
+    }
+
+    /**
+     * Takes a reference on the avatar with this content hash, storing its variants only when no
+     * one holds it yet. Returns the URL of the largest variant.
+     */
+    @Transactional
+    public String acquire(String contentHash, Supplier<List<AvatarImageProcessor.Variant>> variants) {
+        // The row is committed up front, so objects written here are always tracked: if the caller's
+        // transaction rolls back, the count returns to zero and the sweep removes them
+        newTransaction.executeWithoutResult(status -> jdbcTemplate.update(RESERVE, contentHash));
+
+        String baseKey = AvatarVariants.baseKey(contentHash);
+        Integer references = jdbcTemplate.queryForObject(ACQUIRE, Integer.class, contentHash);
+
+        if (references != null && references == 1) {
+            store(baseKey, variants.get());
+        } else {
+            log.debug("Avatar {} already stored, now shared by {} users", contentHash, references);
+        }
+
+        return storageService.urlFor(AvatarVariants.key(baseKey, AvatarVariants.LARGEST));
+    }
+
+    // Variants already written are removed again if a later one fails, so no partial set is left behind
+    private void store(String baseKey, List<AvatarImageProcessor.Variant> variants) {
+        List<String> stored = new ArrayList<>(variants.size());
+        boolean complete = false;
+        try {
+            for (AvatarImageProcessor.Variant variant : variants) {
+                stored.add(storageService.store(AvatarVariants.key(baseKey, variant.size()), "image/jpeg",
+                        variant.content()));
+            }
+            complete = true;
+        } catch (IOException e) {
+            throw new StorageException("Failed to store avatar: " + e.getMessage(), e);
+        } finally {
+            if (!complete) {
+                deleteQuietly(stored);
+            }
+        }
+    }
+
+    private void deleteQuietly(List<String> urls) {
+        for (String url : urls) {
+            try {
+                storageService.deleteFile(url);
+            } catch (RuntimeException e) {
+                log.warn("Could not delete {}: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops one reference. Objects nobody uses any more are left to {@link #sweep}. Avatars stored
+     * before content addressing belong to a single user and are deleted once the transaction commits.
+     */
+    @Transactional
+    public void release(String avatarUrl) {
+        String contentHash = AvatarVariants.contentHash(avatarUrl).orElse(null);
+        if (contentHash != null) {
+            jdbcTemplate.update(RELEASE, contentHash);
+            return;
+        }
+
+        List<String> urls = AvatarVariants.storedUrls(avatarUrl);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteQuietly(urls);
+            }
+        });
+    }
+
+    /**
+     * Deletes avatars left without references for longer than the grace period. Each one is locked
+     * and re-checked first, and its objects are deleted before the row, in the same transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.avatar.sweep-interval:PT10M}", initialDelayString = "${app.avatar.sweep-interval:PT10M}")
+    public void sweep() {
+        List<String> unused = jdbcTemplate.queryForList(UNUSED, String.class,
+                Timestamp.valueOf(LocalDateTime.now().minus(sweepGrace)), sweepBatchSize);
+
+        int swept = 0;
+        for (String contentHash : unused) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteIfUnused(contentHash)))) {
+                    swept++;
+                }
+            } catch (RuntimeException e) {
+                // Left in place; the next sweep tries again
+                log.warn("Could not delete unused avatar {}: {}", contentHash, e.getMessage());
+            }
+        }
+        if (swept > 0) {
+            log.info("Deleted {} unused avatars", swept);
+        }
+    }
+
+    private boolean deleteIfUnused(String contentHash) {
+        if (jdbcTemplate.queryForList(LOCK_UNUSED, String.class, contentHash).isEmpty()) {
+            return false;
+        }
+
+        String largest = AvatarVariants.key(AvatarVariants.baseKey(contentHash), AvatarVariants.LARGEST);
+        AvatarVariants.storedUrls(storageService.urlFor(largest)).forEach(storageService::deleteFile);
+        jdbcTemplate.update(DELETE, contentHash);
+        return true;
+    }
+}
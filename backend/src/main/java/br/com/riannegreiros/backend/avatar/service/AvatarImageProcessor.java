@@ -0,0 +1,180 @@
+package br.com.riannegreiros.backend.avatar.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import br.com.riannegreiros.backend.util.exceptions.InvalidFileException;
+import br.com.riannegreiros.backend.util.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Turns an uploaded picture into the square JPEG variants in {@link AvatarVariants#SIZES}. The
+ * image is decoded once, already subsampled towards the largest variant, and re-encoded without
+ * any of the original metadata. Work runs on a small bounded pool that rejects uploads when full.
+ */
+@Component
+public class AvatarImageProcessor {
+
+    public record Variant(int size, byte[] content) {
+    }
+
+    private final ExecutorService executor;
+    private final int maxDimension;
+    private final float jpegQuality;
+
+    public AvatarImageProcessor(MeterRegistry meterRegistry,
+            @Value("${app.avatar.processing.threads:2}") int threads,
+            @Value("${app.avatar.processing.queue-capacity:16}") int queueCapacity,
+            @Value("${app.avatar.max-dimension:8000}") int maxDimension,
+            @Value("${app.avatar.jpeg-quality:0.85}") float jpegQuality) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("avatar-processing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "avatar.processing");
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public List<Variant> process(byte[] image) {
+        Future<List<Variant>> future;
+        try {
+            future = executor.submit(() -> render(image));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Too many avatar uploads in progress. Please try again shortly.");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Avatar processing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new InvalidFileException("Could not read the image");
+        }
+    }
+
+    private List<Variant> render(byte[] image) throws IOException {
+        BufferedImage decoded = decode(image);
+
+        int side = Math.min(decoded.getWidth(), decoded.getHeight());
+        BufferedImage current = decoded.getSubimage((decoded.getWidth() - side) / 2,
+                (decoded.getHeight() - side) / 2, side, side);
+
+        List<Variant> variants = new ArrayList<>(AvatarVariants.SIZES.size());
+        for (int size : AvatarVariants.SIZES) {
+            current = scaleDown(current, size);
+            variants.add(new Variant(size, encodeJpeg(current)));
+        }
+        return variants;
+    }
+
+    private BufferedImage decode(byte[] image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidFileException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > maxDimension || height > maxDimension) {
+                    throw new InvalidFileException("Image must be at most " + maxDimension + " pixels wide and high");
+                }
+
+                // Skips pixels while reading, so a large photo is never held in memory at full size
+                int subsampling = Math.max(1, Math.min(width, height) / (AvatarVariants.LARGEST * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halving steps keep bilinear scaling sharp; the last step lands on the exact size
+    private static BufferedImage scaleDown(BufferedImage source, int size) {
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= size) {
+            current = resize(current, current.getWidth() / 2);
+        }
+        if (current.getWidth() == size && current.getType() == BufferedImage.TYPE_INT_RGB) {
+            return current;
+        }
+        return resize(current, size);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int size) {
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel, so transparent areas become white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, size, size);
+            graphics.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
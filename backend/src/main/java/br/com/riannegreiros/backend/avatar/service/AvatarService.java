@@ -1,71 +1,149 @@
 package br.com.riannegreiros.backend.avatar.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import br.com.riannegreiros.backend.storage.service.StorageService;
 import br.com.riannegreiros.backend.users.User;
 import br.com.riannegreiros.backend.users.repository.UserRepository;
+import br.com.riannegreiros.backend.users.service.UserProfileCache;
 import br.com.riannegreiros.backend.users.service.UserService;
 import br.com.riannegreiros.backend.util.exceptions.InvalidFileException;
+import br.com.riannegreiros.backend.util.exceptions.UserNotFoundException;
 import jakarta.transaction.Transactional;
 
 @Service
 @Transactional
 public class AvatarService {
 
-    private static final List<String> ALLOWED_TYPES = Arrays.asList("image/jpeg", "image/png", "image/gif",
-            "image/webp");
     private static final long MAX_SIZE = 5 * 1024 * 1024; // 5MB
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
 
-    private final StorageService storageService;
+    private final AvatarBlobStore avatarBlobStore;
     private final UserService userService;
     private final UserRepository userRepository;
+    private final UserProfileCache profileCache;
+    private final AvatarImageProcessor imageProcessor;
+    private final TransactionTemplate transactionTemplate;
 
-    public AvatarService(StorageService storageService, UserService userService, UserRepository userRepository) {
-        this.storageService = storageService;
+    public AvatarService(AvatarBlobStore avatarBlobStore, UserService userService, UserRepository userRepository,
+            UserProfileCache profileCache, AvatarImageProcessor imageProcessor,
+            PlatformTransactionManager transactionManager) {
+        this.avatarBlobStore = avatarBlobStore;
         this.userService = userService;
         this.userRepository = userRepository;
+        this.profileCache = profileCache;
+        this.imageProcessor = imageProcessor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public String uploadAvatar(MultipartFile file) throws IOException {
-        validateFile(file);
-        User user = userService.getCurrentUserEntity();
+        try (InputStream content = file.getInputStream()) {
+            return uploadAvatar(content, file.getSize());
+        }
+    }
 
-        if (user.getAvatarUrl() != null) {
-            storageService.deleteFile(user.getAvatarUrl());
+    /**
+     * Reads the image straight from the request body. The leading bytes decide whether it is an
+     * image and the size limit is checked while reading, so bad uploads stop before the rest arrives.
+     * Runs outside a transaction so a slow client never holds a database connection.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public String uploadAvatar(InputStream content, long declaredSize) throws IOException {
+        if (declaredSize > MAX_SIZE) {
+            throw new InvalidFileException("File size must be less than 5MB");
         }
+        User user = userService.getCurrentUserEntity();
+
+        Upload upload = readImage(content, declaredSize);
+
+        // Re-uploads and shared default pictures are already stored, so they skip resizing altogether
+        List<AvatarImageProcessor.Variant> variants = avatarBlobStore.contains(upload.contentHash())
+                ? null
+                : imageProcessor.process(upload.content());
+
+        // The reference, the user's URL and the release of the previous avatar commit together, so a
+        // failure anywhere leaves the counts matching the users that point at each avatar. The user
+        // loaded above is stale by now, so the row is re-read and locked; anything else committed
+        // during the upload is kept.
+        Long userId = user.getId();
+        return transactionTemplate.execute(status -> {
+            User current = userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> new UserNotFoundException("User not found"));
+            String storedUrl = avatarBlobStore.acquire(upload.contentHash(),
+                    () -> variants != null ? variants : imageProcessor.process(upload.content()));
 
-        String avatarUrl = storageService.uploadFile(file, "avatars/user_" + user.getId());
-        user.setAvatarUrl(avatarUrl);
-        userRepository.save(user);
+            String previousUrl = current.getAvatarUrl();
+            current.setAvatarUrl(storedUrl);
+            current.touchProfile();
+            profileCache.evict(userId);
 
-        return avatarUrl;
+            if (previousUrl != null) {
+                avatarBlobStore.release(previousUrl);
+            }
+            return storedUrl;
+        });
     }
 
     public void deleteAvatar() {
-        User user = userService.getCurrentUserEntity();
+        // Locked like in uploadAvatar, so a concurrent upload can't release the same avatar twice
+        User user = userRepository.findByIdForUpdate(userService.getCurrentUserEntity().getId())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
 
         if (user.getAvatarUrl() != null) {
-            storageService.deleteFile(user.getAvatarUrl());
+            avatarBlobStore.release(user.getAvatarUrl());
             user.setAvatarUrl(null);
-            userRepository.save(user);
+            user.touchProfile();
+            profileCache.evict(user.getId());
         }
     }
 
-    private void validateFile(MultipartFile file) {
-        if (file.isEmpty()) {
+    private record Upload(byte[] content, String contentHash) {
+    }
+
+    // The SHA-256 is computed over the chunks as they are read, not in a second pass
+    private static Upload readImage(InputStream content, long declaredSize) throws IOException {
+        byte[] header = content.readNBytes(ImageType.SIGNATURE_LENGTH);
+        if (header.length == 0) {
             throw new InvalidFileException("File cannot be empty");
         }
-        if (file.getSize() > MAX_SIZE) {
-            throw new InvalidFileException("File size must be less than 5MB");
+        if (ImageType.detect(header).isEmpty()) {
+            throw new InvalidFileException("Only JPEG, PNG, and GIF images are allowed");
         }
-        if (!ALLOWED_TYPES.contains(file.getContentType())) {
-            throw new InvalidFileException("Only JPEG, PNG, GIF, and WebP images are allowed");
+
+        MessageDigest digest = sha256();
+        ByteArrayOutputStream image = new ByteArrayOutputStream(
+                declaredSize > 0 ? (int) declaredSize : DEFAULT_BUFFER_SIZE);
+        image.write(header);
+        digest.update(header);
+
+        byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            if (image.size() + read > MAX_SIZE) {
+                throw new InvalidFileException("File size must be less than 5MB");
+            }
+            image.write(buffer, 0, read);
+            digest.update(buffer, 0, read);
+        }
+        return new Upload(image.toByteArray(), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
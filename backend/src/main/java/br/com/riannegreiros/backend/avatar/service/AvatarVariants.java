@@ -0,0 +1,68 @@
+package br.com.riannegreiros.backend.avatar.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import br.com.riannegreiros.backend.storage.StorageKeys;
+
+/**
+ * Naming of the resized copies of an avatar. Every variant is stored as {@code <base>_<size>.jpg}
+ * and the user keeps the URL of the largest one, so the others are derived from it. The base is
+ * the SHA-256 of the uploaded image, so the same picture always maps to the same objects.
+ */
+public final class AvatarVariants {
+
+    public static final List<Integer> SIZES = List.of(256, 128, 64);
+    public static final int LARGEST = 256;
+
+    private static final String LARGEST_SUFFIX = "_" + LARGEST + ".jpg";
+    private static final Pattern CONTENT_ADDRESSED_URL = Pattern.compile(".*/([0-9a-f]{64})_" + LARGEST + "\\.jpg");
+
+    private AvatarVariants() {
+    }
+
+    public static String baseKey(String contentHash) {
+        return StorageKeys.sharded("avatars", contentHash, contentHash);
+    }
+
+    /** The content hash of an avatar URL, or empty for avatars stored before content addressing. */
+    public static Optional<String> contentHash(String avatarUrl) {
+        if (avatarUrl == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = CONTENT_ADDRESSED_URL.matcher(avatarUrl);
+        return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    public static String key(String base, int size) {
+        return base + "_" + size + ".jpg";
+    }
+
+    /**
+     * URLs by size. Avatars uploaded before variants existed, and pictures from OAuth providers,
+     * only have one URL, which is used for every size.
+     */
+    public static Map<Integer, String> urls(String avatarUrl) {
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        if (avatarUrl == null) {
+            return urls;
+        }
+
+        if (!avatarUrl.endsWith(LARGEST_SUFFIX)) {
+            SIZES.forEach(size -> urls.put(size, avatarUrl));
+            return urls;
+        }
+
+        String base = avatarUrl.substring(0, avatarUrl.length() - LARGEST_SUFFIX.length());
+        SIZES.forEach(size -> urls.put(size, key(base, size)));
+        return urls;
+    }
+
+    public static List<String> storedUrls(String avatarUrl) {
+        return urls(avatarUrl).values().stream().distinct().toList();
+    }
+}
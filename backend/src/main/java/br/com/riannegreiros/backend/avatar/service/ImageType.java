@@ -0,0 +1,30 @@
+package br.com.riannegreiros.backend.avatar.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Image formats accepted for avatars, recognised by their leading bytes rather than by the
+ * content type the client declares.
+ */
+public enum ImageType {
+    JPEG(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF }),
+    PNG(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' }),
+    GIF(new byte[] { 'G', 'I', 'F', '8' });
+
+    /** Enough leading bytes to tell every supported format apart. */
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private final byte[] signature;
+
+    ImageType(byte[] signature) {
+        this.signature = signature;
+    }
+
+    public static Optional<ImageType> detect(byte[] header) {
+        return Arrays.stream(values())
+                .filter(type -> header.length >= type.signature.length
+                        && Arrays.equals(header, 0, type.signature.length, type.signature, 0, type.signature.length))
+                .findFirst();
+    }
+}
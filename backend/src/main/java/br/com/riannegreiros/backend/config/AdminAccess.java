@@ -0,0 +1,35 @@
+package br.com.riannegreiros.backend.config;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import br.com.riannegreiros.backend.util.EmailAddresses;
+
+/**
+ * Admins are the accounts listed in {@code app.admin.emails}. Used from method security as
+ * {@code @PreAuthorize("@adminAccess.isAdmin(authentication)")}.
+ */
+@Component("adminAccess")
+public class AdminAccess {
+
+    private final Set<String> adminEmails;
+
+    public AdminAccess(@Value("${app.admin.emails:}") List<String> adminEmails) {
+        this.adminEmails = adminEmails.stream()
+                .map(EmailAddresses::normalize)
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isAdmin(Authentication authentication) {
+        return authentication != null
+                && authentication.getPrincipal() instanceof JWTUserData userData
+                && userData.email() != null
+                && adminEmails.contains(EmailAddresses.normalize(userData.email()));
+    }
+}
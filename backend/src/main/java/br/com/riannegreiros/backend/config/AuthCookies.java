@@ -0,0 +1,78 @@
+package br.com.riannegreiros.backend.config;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class AuthCookies {
+
+    public static final String TOKEN_COOKIE = "auth_token";
+    public static final String REFRESH_COOKIE = "refresh_token";
+    public static final String TOKEN_HEADER = "X-Access-Token";
+
+    // The refresh token is only ever needed by /api/auth/refresh and logout
+    private static final String REFRESH_COOKIE_PATH = "/api/auth";
+
+    private final int tokenMaxAge;
+    private final int refreshMaxAge;
+
+    public AuthCookies(TokenConfig tokenConfig) {
+        this.tokenMaxAge = (int) tokenConfig.getAccessTokenTtl().toSeconds();
+        this.refreshMaxAge = (int) tokenConfig.getRefreshTokenTtl().toSeconds();
+    }
+
+    public void addTokenCookies(HttpServletResponse response, TokenPair tokens) {
+        addTokenCookie(response, tokens.accessToken());
+        response.addCookie(cookie(REFRESH_COOKIE, tokens.refreshToken(), REFRESH_COOKIE_PATH, refreshMaxAge));
+    }
+
+    public void addTokenCookie(HttpServletResponse response, String token) {
+        response.addCookie(cookie(TOKEN_COOKIE, token, "/", tokenMaxAge));
+    }
+
+    /**
+     * Hands an access token re-issued after a profile change back the way the caller authenticated:
+     * as the cookie, or in {@link #TOKEN_HEADER} for clients sending a Bearer header, which would
+     * otherwise keep the old profile snapshot until the token expires.
+     */
+    public void sendReissuedToken(HttpServletRequest request, HttpServletResponse response, String token) {
+        if (hasTokenCookie(request)) {
+            addTokenCookie(response, token);
+        } else {
+            response.setHeader(TOKEN_HEADER, token);
+        }
+    }
+
+    public void clearTokenCookies(HttpServletResponse response) {
+        response.addCookie(cookie(TOKEN_COOKIE, "", "/", 0));
+        response.addCookie(cookie(REFRESH_COOKIE, "", REFRESH_COOKIE_PATH, 0));
+    }
+
+    public static boolean hasTokenCookie(HttpServletRequest request) {
+        return readCookie(request, TOKEN_COOKIE) != null;
+    }
+
+    public static String readCookie(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (name.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Cookie cookie(String name, String value, String path, int maxAge) {
+        Cookie cookie = new Cookie(name, value);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(false);
+        cookie.setMaxAge(maxAge);
+        cookie.setPath(path);
+        return cookie;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.riannegreiros.backend.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.google.api.gax.retrying.RetrySettings;
+import com.google.cloud.NoCredentials;
+import com.google.cloud.http.HttpTransportOptions;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+
+/**
+ * One Storage client for the whole application. The client is thread-safe, so sharing it keeps
+ * credentials, the connection pool and open TLS sessions across avatar operations.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "gcs", matchIfMissing = true)
+public class GcpStorageConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(GcpStorageConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    HttpTransport gcpStorageHttpTransport(
+            @Value("${gcp.storage.max-connections:20}") int maxConnections) {
+        return new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClientBuilder()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .build());
+    }
+
+    @Bean
+    Storage storage(HttpTransport gcpStorageHttpTransport,
+            @Value("${gcp.project-id}") String projectId,
+            @Value("${gcp.storage.host:}") String host,
+            @Value("${gcp.storage.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${gcp.storage.read-timeout:PT20S}") Duration readTimeout,
+            @Value("${gcp.storage.retry.max-attempts:3}") int maxAttempts,
+            @Value("${gcp.storage.retry.initial-delay:PT0.2S}") Duration initialRetryDelay,
+            @Value("${gcp.storage.retry.total-timeout:PT30S}") Duration totalTimeout) {
+        HttpTransportOptions transportOptions = HttpTransportOptions.newBuilder()
+                .setHttpTransportFactory(() -> gcpStorageHttpTransport)
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setReadTimeout((int) readTimeout.toMillis())
+                .build();
+
+        RetrySettings retrySettings = RetrySettings.newBuilder()
+                .setMaxAttempts(maxAttempts)
+                .setInitialRetryDelayDuration(initialRetryDelay)
+                .setRetryDelayMultiplier(2.0)
+                .setMaxRetryDelayDuration(readTimeout)
+                .setTotalTimeoutDuration(totalTimeout)
+                .build();
+
+        StorageOptions.Builder options = StorageOptions.newBuilder()
+                .setProjectId(projectId)
+                .setTransportOptions(transportOptions)
+                .setRetrySettings(retrySettings);
+
+        // An emulator such as fake-gcs-server takes no credentials
+        if (!host.isBlank()) {
+            options.setHost(host).setCredentials(NoCredentials.getInstance());
+            log.info("Using Cloud Storage emulator at {}", host);
+        }
+
+        return options.build().getService();
+    }
+}
@@ -1,7 +1,14 @@
 package br.com.riannegreiros.backend.config;
 
+import java.time.Instant;
+
 import lombok.Builder;
 
 @Builder
-public record JWTUserData(Long userId, String firstName, String lastName, String email) {
+public record JWTUserData(Long userId, String tokenId, String firstName, String lastName, String email, String avatarUrl,
+        Boolean verified, Integer profileVersion, Instant expiresAt) {
+
+    public boolean hasProfile() {
+        return profileVersion != null;
+    }
 }
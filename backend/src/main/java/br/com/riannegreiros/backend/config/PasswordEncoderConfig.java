@@ -0,0 +1,82 @@
+package br.com.riannegreiros.backend.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService passwordHashingExecutor(MeterRegistry meterRegistry,
+            @Value("${app.password.hashing.threads:0}") int threads,
+            @Value("${app.password.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    @Bean
+    BoundedPasswordEncoder passwordEncoder(ExecutorService passwordHashingExecutor,
+            @Value("${app.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.password.bcrypt.strength:0}") int bcryptStrength,
+            @Value("${app.password.bcrypt.target-latency:PT0.25S}") Duration targetLatency) {
+        int strength = bcryptStrength > 0 ? bcryptStrength : calibrateBCryptStrength(targetLatency);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        // Hashes stored before the {id} prefix was introduced are plain bcrypt
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        log.info("Password encoder: {} (bcrypt strength {})", algorithm, strength);
+        return new BoundedPasswordEncoder(delegating, passwordHashingExecutor);
+    }
+
+    // Picks the cost whose hash time on this machine lands closest to the target latency
+    private static int calibrateBCryptStrength(Duration targetLatency) {
+        long targetNanos = targetLatency.toNanos();
+        new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH).encode("calibration");
+
+        for (int strength = MIN_BCRYPT_STRENGTH; strength < MAX_BCRYPT_STRENGTH; strength++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode("calibration");
+            long elapsed = System.nanoTime() - start;
+
+            // Each step doubles the work, so decide between this cost and the next one
+            if (elapsed * 2 >= targetNanos) {
+                return targetNanos - elapsed <= elapsed * 2 - targetNanos ? strength : strength + 1;
+            }
+        }
+        return MAX_BCRYPT_STRENGTH;
+    }
+}
@@ -13,13 +13,10 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
-import br.com.riannegreiros.backend.filters.JwtAuthenticationFilter;
-import br.com.riannegreiros.backend.filters.CookieAuthenticationFilter;
+import br.com.riannegreiros.backend.filters.TokenAuthenticationFilter;
 
 import java.util.Arrays;
 
@@ -28,19 +25,28 @@ import java.util.Arrays;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    public static final String[] PUBLIC_PATHS = {
+            "/api/auth/login",
+            "/api/auth/register",
+            "/api/auth/refresh",
+            "/api/email/**",
+            "/api/user/password/**",
+            "/api/files/**",
+            "/error"
+    };
+
     @Value("${app.frontend.url}")
     private String frontendUrl;
 
-    private final JwtAuthenticationFilter securityFilter;
-    private final CookieAuthenticationFilter cookieAuthenticationFilter;
+    private final TokenAuthenticationFilter tokenAuthenticationFilter;
     private final OAuth2SuccessHandler oauth2SuccessHandler;
+    private final TokenLogoutHandler tokenLogoutHandler;
 
-    public SecurityConfig(JwtAuthenticationFilter securityFilter,
-            CookieAuthenticationFilter cookieAuthenticationFilter,
-            OAuth2SuccessHandler oauth2SuccessHandler) {
-        this.securityFilter = securityFilter;
-        this.cookieAuthenticationFilter = cookieAuthenticationFilter;
+    public SecurityConfig(TokenAuthenticationFilter tokenAuthenticationFilter,
+            OAuth2SuccessHandler oauth2SuccessHandler, TokenLogoutHandler tokenLogoutHandler) {
+        this.tokenAuthenticationFilter = tokenAuthenticationFilter;
         this.oauth2SuccessHandler = oauth2SuccessHandler;
+        this.tokenLogoutHandler = tokenLogoutHandler;
     }
 
     @Bean
@@ -50,6 +56,7 @@ public class SecurityConfig {
                 frontendUrl));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(AuthCookies.TOKEN_HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -64,16 +71,11 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
-                        .requestMatchers("/api/auth/login").permitAll()
-                        .requestMatchers("/api/auth/register").permitAll()
-                        .requestMatchers("/api/email/**").permitAll()
-                        .requestMatchers("/api/user/password/**").permitAll()
-                        .requestMatchers("/error").permitAll()
+                        .requestMatchers(PUBLIC_PATHS).permitAll()
 
                         .anyRequest().authenticated())
 
-                .addFilterBefore(cookieAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterAfter(securityFilter, CookieAuthenticationFilter.class)
+                .addFilterBefore(tokenAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
                 .exceptionHandling(exceptionHandling -> exceptionHandling
                         .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
@@ -84,6 +86,7 @@ public class SecurityConfig {
 
                 .logout(logout -> logout
                         .logoutUrl("/api/auth/logout")
+                        .addLogoutHandler(tokenLogoutHandler)
                         .logoutSuccessHandler((request, response, authentication) -> {
                             response.setStatus(HttpStatus.OK.value());
                             response.setContentType("application/json");
@@ -102,9 +105,4 @@ public class SecurityConfig {
             throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
-
-    @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
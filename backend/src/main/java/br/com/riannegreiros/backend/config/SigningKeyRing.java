@@ -0,0 +1,180 @@
+package br.com.riannegreiros.backend.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+/**
+ * JWT signing keys identified by {@code kid}. Keys are read from {@code jwt.keys.file} when set,
+ * otherwise {@code jwt.secret} is used as a single HS256 key. The file is polled for changes and
+ * the whole ring, verifiers included, is rebuilt before being swapped in.
+ *
+ * <pre>
+ * active=2026-10
+ * keys.2026-10.algorithm=ES256
+ * keys.2026-10.public-key=MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAE...
+ * keys.2026-10.private-key=MIGHAgEAMBMGByqGSM49AgEGCCqGSM49AwEH...
+ * keys.2026-04.algorithm=HS256
+ * keys.2026-04.secret=previous_secret_kept_until_its_tokens_expire
+ * </pre>
+ */
+@Component
+public class SigningKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRing.class);
+
+    static final String DEFAULT_KEY_ID = "default";
+
+    private final String fallbackSecret;
+    private final Path keysFile;
+
+    private volatile Ring ring;
+    private volatile long keysFileModified;
+
+    public SigningKeyRing(@Value("${jwt.secret}") String fallbackSecret,
+            @Value("${jwt.keys.file:}") String keysFile) {
+        this.fallbackSecret = fallbackSecret;
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        this.ring = keysFile.isBlank() ? fallbackRing() : loadRing();
+    }
+
+    public String sign(JWTCreator.Builder token) {
+        Ring current = ring;
+        return token.withKeyId(current.activeKeyId()).sign(current.activeAlgorithm());
+    }
+
+    /**
+     * Returns the verifier for the given key id, or {@code null} when the key is unknown.
+     * Tokens issued before key ids were introduced carry none and map to the default key.
+     */
+    public JWTVerifier verifierFor(String keyId) {
+        return ring.verifiers().get(keyId == null ? DEFAULT_KEY_ID : keyId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval:PT1M}")
+    public void reload() {
+        if (keysFile == null) {
+            return;
+        }
+
+        try {
+            if (Files.getLastModifiedTime(keysFile).toMillis() == keysFileModified) {
+                return;
+            }
+            ring = loadRing();
+            log.info("Signing key ring reloaded, active key: {}", ring.activeKeyId());
+        } catch (IOException | IllegalStateException e) {
+            // Keep signing with the current ring until the file is fixed
+            log.error("Failed to reload signing key ring from {}: {}", keysFile, e.getMessage());
+        }
+    }
+
+    private Ring fallbackRing() {
+        Algorithm algorithm = Algorithm.HMAC256(fallbackSecret);
+        return new Ring(DEFAULT_KEY_ID, algorithm, Map.of(DEFAULT_KEY_ID, JWT.require(algorithm).build()));
+    }
+
+    private Ring loadRing() {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(keysFile)) {
+            keysFileModified = Files.getLastModifiedTime(keysFile).toMillis();
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read signing keys from " + keysFile, e);
+        }
+
+        String activeKeyId = properties.getProperty("active");
+        if (activeKeyId == null) {
+            throw new IllegalStateException("Signing key file has no active key");
+        }
+
+        Map<String, Algorithm> algorithms = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("keys.") && name.endsWith(".algorithm")) {
+                String keyId = name.substring("keys.".length(), name.length() - ".algorithm".length());
+                algorithms.put(keyId, algorithm(keyId, properties));
+            }
+        }
+
+        Algorithm active = algorithms.get(activeKeyId);
+        if (active == null) {
+            throw new IllegalStateException("Active signing key '" + activeKeyId + "' is not defined");
+        }
+        // A verify-only key would otherwise be accepted here and only fail on the next login
+        String activeType = properties.getProperty("keys." + activeKeyId + ".algorithm");
+        if (!"HS256".equals(activeType) && properties.getProperty("keys." + activeKeyId + ".private-key") == null) {
+            throw new IllegalStateException("Active signing key '" + activeKeyId + "' has no private-key");
+        }
+
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        algorithms.forEach((keyId, algorithm) -> verifiers.put(keyId, JWT.require(algorithm).build()));
+        return new Ring(activeKeyId, active, Map.copyOf(verifiers));
+    }
+
+    private static Algorithm algorithm(String keyId, Properties properties) {
+        String prefix = "keys." + keyId + ".";
+        String type = properties.getProperty(prefix + "algorithm");
+        String publicKey = properties.getProperty(prefix + "public-key");
+        String privateKey = properties.getProperty(prefix + "private-key");
+
+        try {
+            return switch (type) {
+                case "HS256" -> Algorithm.HMAC256(properties.getProperty(prefix + "secret"));
+                case "ES256" -> Algorithm.ECDSA256(
+                        (ECPublicKey) publicKey("EC", publicKey),
+                        privateKey == null ? null : (ECPrivateKey) privateKey("EC", privateKey));
+                case "RS256" -> Algorithm.RSA256(
+                        (RSAPublicKey) publicKey("RSA", publicKey),
+                        privateKey == null ? null : (RSAPrivateKey) privateKey("RSA", privateKey));
+                default -> throw new IllegalStateException("Unsupported algorithm " + type + " for key " + keyId);
+            };
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid signing key " + keyId, e);
+        }
+    }
+
+    private static PublicKey publicKey(String type, String encoded) throws GeneralSecurityException {
+        return KeyFactory.getInstance(type).generatePublic(new X509EncodedKeySpec(decodeKey(encoded)));
+    }
+
+    private static PrivateKey privateKey(String type, String encoded) throws GeneralSecurityException {
+        return KeyFactory.getInstance(type).generatePrivate(new PKCS8EncodedKeySpec(decodeKey(encoded)));
+    }
+
+    // Accepts bare base64 DER as well as PEM with its header lines
+    private static byte[] decodeKey(String encoded) {
+        if (encoded == null) {
+            throw new IllegalArgumentException("Missing key material");
+        }
+        return Base64.getMimeDecoder().decode(encoded.replaceAll("-----[A-Z ]+-----", ""));
+    }
+
+    private record Ring(String activeKeyId, Algorithm activeAlgorithm, Map<String, JWTVerifier> verifiers) {
+    }
+}
@@ -1,16 +1,17 @@
 package br.com.riannegreiros.backend.config;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
@@ -21,64 +22,74 @@ public class TokenConfig {
 
     private static final Logger log = LoggerFactory.getLogger(TokenConfig.class);
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // Bump when the profile claims change shape; tokens with another version fall back to a lookup
+    private static final int PROFILE_SNAPSHOT_VERSION = 1;
 
-    public String generateToken(User user) {
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
+    private final SigningKeyRing keyRing;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
 
-        return JWT.create()
-                .withClaim("userId", user.getId())
-                .withSubject(user.getEmail())
-                .withExpiresAt(Instant.now().plusSeconds(86400))
-                .withIssuedAt(Instant.now())
-                .sign(algorithm);
+    public TokenConfig(SigningKeyRing keyRing,
+            @Value("${jwt.access-token-ttl:PT15M}") Duration accessTokenTtl,
+            @Value("${jwt.refresh-token-ttl:P14D}") Duration refreshTokenTtl) {
+        this.keyRing = keyRing;
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
     }
 
-    public String extractUsername(String token) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            DecodedJWT decodedJWT = JWT.require(algorithm).build().verify(token);
-            return decodedJWT.getSubject();
-        } catch (JWTVerificationException e) {
-            log.debug("Failed to extract username from token", e);
-            return null;
-        }
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            String username = extractUsername(token);
-            return username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            log.debug("Token validation failed", e);
-            return false;
-        }
+    public Duration getRefreshTokenTtl() {
+        return refreshTokenTtl;
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            DecodedJWT decodedJWT = JWT.require(algorithm).build().verify(token);
-            return decodedJWT.getExpiresAt().before(java.util.Date.from(Instant.now()));
-        } catch (JWTVerificationException e) {
-            return true;
-        }
+    public String generateToken(User user) {
+        Instant now = Instant.now();
+
+        return keyRing.sign(JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
+                .withClaim("userId", user.getId())
+                .withSubject(user.getEmail())
+                .withClaim("sv", PROFILE_SNAPSHOT_VERSION)
+                .withClaim("fn", user.getFirstName())
+                .withClaim("ln", user.getLastName())
+                .withClaim("av", user.getAvatarUrl())
+                .withClaim("vf", user.isVerified())
+                .withClaim("pv", user.getProfileVersion())
+                .withExpiresAt(now.plus(accessTokenTtl))
+                .withIssuedAt(now));
     }
 
     public Optional<JWTUserData> validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-
-            DecodedJWT decodedJWT = JWT.require(algorithm)
-                    .build().verify(token);
+            DecodedJWT decodedJWT = JWT.decode(token);
+            JWTVerifier verifier = keyRing.verifierFor(decodedJWT.getKeyId());
+            if (verifier == null) {
+                log.debug("JWT signed with unknown key: {}", decodedJWT.getKeyId());
+                return Optional.empty();
+            }
+            verifier.verify(decodedJWT);
 
-            return Optional.of(JWTUserData.builder()
+            JWTUserData.JWTUserDataBuilder builder = JWTUserData.builder()
                     .userId(decodedJWT.getClaim("userId").asLong())
+                    .tokenId(decodedJWT.getId())
                     .email(decodedJWT.getSubject())
-                    .build());
+                    .expiresAt(decodedJWT.getExpiresAtAsInstant());
+
+            Integer snapshotVersion = decodedJWT.getClaim("sv").asInt();
+            if (snapshotVersion != null && snapshotVersion == PROFILE_SNAPSHOT_VERSION) {
+                builder.firstName(decodedJWT.getClaim("fn").asString())
+                        .lastName(decodedJWT.getClaim("ln").asString())
+                        .avatarUrl(decodedJWT.getClaim("av").asString())
+                        .verified(decodedJWT.getClaim("vf").asBoolean())
+                        .profileVersion(decodedJWT.getClaim("pv").asInt());
+            }
+
+            return Optional.of(builder.build());
         } catch (JWTVerificationException e) {
-            log.debug("JWT verification failed for token: {}", token, e);
+            log.debug("JWT verification failed: {}", e.getMessage());
             return Optional.empty();
         }
     }
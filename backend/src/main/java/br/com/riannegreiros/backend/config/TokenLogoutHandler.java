@@ -0,0 +1,48 @@
+package br.com.riannegreiros.backend.config;
+
+import java.util.List;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+import br.com.riannegreiros.backend.filters.TokenResolver;
+import br.com.riannegreiros.backend.users.service.RefreshTokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class TokenLogoutHandler implements LogoutHandler {
+
+    private final RefreshTokenService refreshTokenService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    private final List<TokenResolver> tokenResolvers;
+    private final AuthCookies authCookies;
+
+    public TokenLogoutHandler(RefreshTokenService refreshTokenService, VerifiedTokenCache tokenCache,
+            TokenRevocationList revocationList, List<TokenResolver> tokenResolvers, AuthCookies authCookies) {
+        this.refreshTokenService = refreshTokenService;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.tokenResolvers = tokenResolvers;
+        this.authCookies = authCookies;
+    }
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String refreshToken = AuthCookies.readCookie(request, AuthCookies.REFRESH_COOKIE);
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+
+        // The logout filter runs before token authentication, so the access token is resolved here
+        String accessToken = TokenResolver.resolveFirst(tokenResolvers, request);
+        if (accessToken != null) {
+            tokenCache.validate(accessToken)
+                    .ifPresent(userData -> revocationList.revoke(userData.tokenId(), userData.expiresAt()));
+        }
+
+        authCookies.clearTokenCookies(response);
+    }
+}
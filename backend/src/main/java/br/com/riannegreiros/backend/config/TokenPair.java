@@ -0,0 +1,4 @@
+package br.com.riannegreiros.backend.config;
+
+public record TokenPair(String accessToken, String refreshToken) {
+}
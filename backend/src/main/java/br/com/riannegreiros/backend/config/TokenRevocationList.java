@@ -0,0 +1,121 @@
+package br.com.riannegreiros.backend.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.riannegreiros.backend.users.RevokedToken;
+import br.com.riannegreiros.backend.users.repository.RevokedTokenRepository;
+import br.com.riannegreiros.backend.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+
+/**
+ * Postgres-backed list of revoked access tokens, mirrored on every node as a Bloom filter
+ * backed by an exact set. Nodes pick up revocations from other nodes by polling.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // Rows committed late by another node can carry a revoked_at slightly in the past
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile Snapshot snapshot;
+    private volatile LocalDateTime lastPoll;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry,
+            @Value("${jwt.revocation.expected-entries:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshot = new Snapshot(BloomFilter.create(expectedRevocations, falsePositiveRate),
+                new ConcurrentHashMap<>());
+
+        Gauge.builder("jwt.revocations.active", this, list -> list.snapshot.revoked().size())
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+
+        Snapshot current = snapshot;
+        if (!current.filter().mightContain(tokenId)) {
+            return false;
+        }
+
+        Long expiresAt = current.revoked().get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+
+        revokedTokenRepository.insertIfAbsent(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        add(snapshot, tokenId, expiresAt.toEpochMilli());
+        log.info("Access token revoked: {}", tokenId);
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT10M}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:PT10M}")
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(startedAt);
+
+        Snapshot rebuilt = new Snapshot(
+                BloomFilter.create(Math.max(expectedRevocations, active.size() * 2L), falsePositiveRate),
+                new ConcurrentHashMap<>(Math.max(16, active.size() * 2)));
+        active.forEach(token -> add(rebuilt, token));
+
+        // Expired entries are dropped by the rebuild; anything revoked meanwhile is re-read by the next poll
+        snapshot = rebuilt;
+        lastPoll = startedAt;
+        log.debug("Token revocation list rebuilt with {} active entries", active.size());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval:PT5S}")
+    public void poll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedToken> recent = revokedTokenRepository
+                .findByRevokedAtAfterAndExpiresAtAfter(lastPoll.minus(POLL_OVERLAP), startedAt);
+
+        Snapshot current = snapshot;
+        recent.forEach(token -> add(current, token));
+        lastPoll = startedAt;
+    }
+
+    private static void add(Snapshot target, RevokedToken token) {
+        add(target, token.getTokenId(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static void add(Snapshot target, String tokenId, long expiresAtMillis) {
+        target.revoked().put(tokenId, expiresAtMillis);
+        target.filter().put(tokenId);
+    }
+
+    private record Snapshot(BloomFilter filter, ConcurrentHashMap<String, Long> revoked) {
+    }
+}
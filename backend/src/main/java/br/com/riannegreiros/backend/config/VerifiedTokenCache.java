@@ -0,0 +1,81 @@
+package br.com.riannegreiros.backend.config;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final TokenConfig tokenConfig;
+    private final Duration maxTtl;
+    private final Cache<TokenKey, JWTUserData> cache;
+
+    public VerifiedTokenCache(TokenConfig tokenConfig, MeterRegistry meterRegistry,
+            @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.cache.max-ttl:PT5M}") Duration maxTtl) {
+        this.tokenConfig = tokenConfig;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating(this::timeToLive))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public Optional<JWTUserData> validate(String token) {
+        TokenKey key = TokenKey.of(token);
+
+        JWTUserData cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAt().toEpochMilli() > System.currentTimeMillis()) {
+            return Optional.of(cached);
+        }
+
+        Optional<JWTUserData> verified = tokenConfig.validateToken(token);
+        verified.filter(userData -> userData.expiresAt() != null)
+                .ifPresent(userData -> cache.put(key, userData));
+        return verified;
+    }
+
+    private Duration timeToLive(TokenKey key, JWTUserData userData) {
+        Duration untilExpiry = Duration.between(Instant.now(), userData.expiresAt());
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+    }
+
+    // The token itself is never kept in memory, only its SHA-256 digest packed into four longs
+    private record TokenKey(long a, long b, long c, long d) {
+
+        static TokenKey of(String token) {
+            byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new TokenKey(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.riannegreiros.backend.email;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import br.com.riannegreiros.backend.entity.AbstractEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "email_outbox")
+public class EmailOutboxMessage extends AbstractEntity {
+
+    public enum Type {
+        VERIFICATION, VERIFICATION_LINK, PASSWORD_RESET
+    }
+
+    public enum Status {
+        PENDING, SENT, DEAD
+    }
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    // Cleared once the message is finished, since it holds the code, token or link being sent
+    private String payload;
+
+    @Column(length = 35)
+    private String locale;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public EmailOutboxMessage(Type type, String recipient, String payload, Locale locale) {
+        this.type = type;
+        this.recipient = recipient;
+        this.payload = payload;
+        this.locale = locale.toLanguageTag();
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public Locale resolveLocale() {
+        return locale == null ? Locale.ENGLISH : Locale.forLanguageTag(locale);
+    }
+
+    public void lease(LocalDateTime until) {
+        this.nextAttemptAt = until;
+    }
+
+    public void markSent() {
+        this.status = Status.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+        this.payload = null;
+    }
+
+    public void markFailed(String error, LocalDateTime retryAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+
+        if (attempts >= maxAttempts) {
+            this.status = Status.DEAD;
+            this.payload = null;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+}
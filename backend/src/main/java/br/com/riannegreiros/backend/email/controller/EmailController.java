@@ -5,18 +5,24 @@ import org.springframework.web.bind.annotation.RestController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.com.riannegreiros.backend.config.AuthCookies;
 import br.com.riannegreiros.backend.email.request.EmailVerificationRequest;
 import br.com.riannegreiros.backend.email.request.ResendVerificationCodeRequest;
 import br.com.riannegreiros.backend.email.response.EmailVerificationResponse;
 import br.com.riannegreiros.backend.email.services.EmailVerificationService;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
+
+import java.net.URI;
 import jakarta.validation.Valid;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
 @RequestMapping("/api/email")
@@ -25,9 +31,14 @@ public class EmailController {
     private static final Logger log = LoggerFactory.getLogger(EmailController.class);
 
     private final EmailVerificationService emailVerificationService;
+    private final AuthCookies authCookies;
+    private final String frontendUrl;
 
-    public EmailController(EmailVerificationService emailVerificationService) {
+    public EmailController(EmailVerificationService emailVerificationService, AuthCookies authCookies,
+            @Value("${app.frontend.url}") String frontendUrl) {
         this.emailVerificationService = emailVerificationService;
+        this.authCookies = authCookies;
+        this.frontendUrl = frontendUrl;
     }
 
     @PostMapping("/verify-email")
@@ -35,16 +46,20 @@ public class EmailController {
             @Valid @RequestBody EmailVerificationRequest request,
             HttpServletResponse response) {
         log.info("Email verification attempt for email={}", request.email());
-        EmailVerificationResponse emailVerificationResponse = emailVerificationService.verifyEmail(request);
+        EmailVerificationService.VerificationResult result = emailVerificationService.verifyEmail(request);
 
-        Cookie cookie = new Cookie("auth_token", emailVerificationResponse.token());
-        cookie.setHttpOnly(true);
-        cookie.setSecure(false);
-        cookie.setMaxAge(86400);
-        cookie.setPath("/");
-        response.addCookie(cookie);
+        authCookies.addTokenCookies(response, result.tokens());
 
-        return ResponseEntity.ok(emailVerificationResponse);
+        return ResponseEntity.ok(result.response());
+    }
+
+    @GetMapping("/verify")
+    public ResponseEntity<Void> verifyLink(@RequestParam String token) {
+        boolean verified = emailVerificationService.verifyLink(token);
+
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(frontendUrl + "/login?verified=" + verified))
+                .build();
     }
 
     @PostMapping("/resend-verification-code")
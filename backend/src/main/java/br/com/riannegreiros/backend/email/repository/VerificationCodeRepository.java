@@ -1,8 +1,12 @@
 package br.com.riannegreiros.backend.email.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.riannegreiros.backend.email.VerificationCode;
 
@@ -12,4 +16,8 @@ public interface VerificationCodeRepository extends JpaRepository<VerificationCo
     Optional<VerificationCode> findByEmail(String email);
 
     void deleteByEmail(String email);
+
+    @Modifying
+    @Query("DELETE FROM VerificationCode v WHERE v.email IN :emails")
+    int deleteAllByEmailIn(@Param("emails") Collection<String> emails);
 }
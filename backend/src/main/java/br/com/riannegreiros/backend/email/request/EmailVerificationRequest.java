@@ -2,10 +2,15 @@ package br.com.riannegreiros.backend.email.request;
 
 import org.hibernate.validator.constraints.Length;
 
+import br.com.riannegreiros.backend.util.EmailAddresses;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 
 public record EmailVerificationRequest(
         @NotEmpty(message = "Email is required") @Email(message = "Invalid email format") String email,
         @NotEmpty(message = "Verification code is required") @Length(min = 6) String code) {
+
+    public EmailVerificationRequest {
+        email = EmailAddresses.normalize(email);
+    }
 }
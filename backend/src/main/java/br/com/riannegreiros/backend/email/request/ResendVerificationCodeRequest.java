@@ -1,8 +1,13 @@
 package br.com.riannegreiros.backend.email.request;
 
+import br.com.riannegreiros.backend.util.EmailAddresses;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 
 public record ResendVerificationCodeRequest(
         @NotEmpty(message = "Email is required") @Email(message = "Invalid email format") String email) {
+
+    public ResendVerificationCodeRequest {
+        email = EmailAddresses.normalize(email);
+    }
 }
@@ -0,0 +1,38 @@
+package br.com.riannegreiros.backend.email.services;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import br.com.riannegreiros.backend.email.EmailOutboxMessage;
+import br.com.riannegreiros.backend.email.repository.EmailOutboxRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Queues emails in the caller's transaction; {@link EmailOutboxDispatcher} delivers them after commit.
+ * The request locale is stored with each message so it is rendered in the user's language.
+ */
+@Service
+@Transactional(Transactional.TxType.MANDATORY)
+public class EmailOutbox {
+
+    private final EmailOutboxRepository outboxRepository;
+
+    public EmailOutbox(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    public void enqueueVerificationEmail(String toEmail, String verificationCode) {
+        outboxRepository.save(new EmailOutboxMessage(EmailOutboxMessage.Type.VERIFICATION, toEmail, verificationCode,
+                LocaleContextHolder.getLocale()));
+    }
+
+    public void enqueueVerificationLinkEmail(String toEmail, String linkToken) {
+        outboxRepository.save(new EmailOutboxMessage(EmailOutboxMessage.Type.VERIFICATION_LINK, toEmail, linkToken,
+                LocaleContextHolder.getLocale()));
+    }
+
+    public void enqueuePasswordResetEmail(String toEmail, String resetCode) {
+        outboxRepository.save(new EmailOutboxMessage(EmailOutboxMessage.Type.PASSWORD_RESET, toEmail, resetCode,
+                LocaleContextHolder.getLocale()));
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.riannegreiros.backend.email.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.riannegreiros.backend.email.EmailOutboxMessage;
+import br.com.riannegreiros.backend.email.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository, EmailService emailService,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.email.outbox.batch-size:50}") int batchSize,
+            @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.email.outbox.lease:PT5M}") Duration lease,
+            @Value("${app.email.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+            @Value("${app.email.outbox.max-backoff:PT1H}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sentCounter = meterRegistry.counter("email.outbox.sent");
+        this.failedCounter = meterRegistry.counter("email.outbox.failed");
+        this.deadCounter = meterRegistry.counter("email.outbox.dead");
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:PT2S}")
+    public void dispatch() {
+        List<EmailOutboxMessage> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                recordResults(batch, send(batch));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // Claimed rows are leased by pushing next_attempt_at forward, so a crashed node's batch is retried later
+    private List<EmailOutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = outboxRepository.lockDue(now, batchSize);
+            due.forEach(message -> message.lease(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private Map<Long, String> send(List<EmailOutboxMessage> batch) {
+        Map<Long, String> failures = new HashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            try {
+                switch (message.getType()) {
+                    case VERIFICATION -> emailService.sendVerificationEmail(message.getRecipient(),
+                            message.getPayload(), message.resolveLocale());
+                    case VERIFICATION_LINK -> emailService.sendVerificationLinkEmail(message.getRecipient(),
+                            message.getPayload(), message.resolveLocale());
+                    case PASSWORD_RESET -> emailService.sendPasswordResetEmail(message.getRecipient(),
+                            message.getPayload(), message.resolveLocale());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to send {} email {}: {}", message.getType(), message.getId(), e.getMessage());
+                failures.put(message.getId(), String.valueOf(e.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    private void recordResults(List<EmailOutboxMessage> batch, Map<Long, String> failures) {
+        List<Long> ids = batch.stream().map(EmailOutboxMessage::getId).toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutboxMessage message : outboxRepository.findAllById(ids)) {
+                if (!failures.containsKey(message.getId())) {
+                    message.markSent();
+                    sentCounter.increment();
+                    continue;
+                }
+
+                message.markFailed(failures.get(message.getId()), now.plus(backoff(message.getAttempts())), maxAttempts);
+                failedCounter.increment();
+                if (message.getStatus() == EmailOutboxMessage.Status.DEAD) {
+                    deadCounter.increment();
+                    log.error("Giving up on {} email {} after {} attempts", message.getType(), message.getId(),
+                            message.getAttempts());
+                }
+            }
+        });
+    }
+
+    // Exponential backoff on the attempts made so far: initial, 2x, 4x, ... capped at maxBackoff
+    private Duration backoff(int previousAttempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(previousAttempts, 20));
+        return delay.compareTo(maxBackoff) < 0 ? delay : maxBackoff;
+    }
+}
@@ -1,9 +1,15 @@
 package br.com.riannegreiros.backend.email.services;
 
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import br.com.riannegreiros.backend.email.template.EmailTemplateEngine;
+import br.com.riannegreiros.backend.email.template.RenderedEmail;
 import br.com.riannegreiros.backend.util.exceptions.EmailSendException;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -12,58 +18,51 @@ import jakarta.mail.internet.MimeMessage;
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final SmtpTransportPool transportPool;
+    private final EmailTemplateEngine templateEngine;
+    private final String backendUrl;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, SmtpTransportPool transportPool,
+            EmailTemplateEngine templateEngine, @Value("${app.backend.url}") String backendUrl) {
         this.mailSender = mailSender;
+        this.transportPool = transportPool;
+        this.templateEngine = templateEngine;
+        this.backendUrl = backendUrl;
     }
 
-    public void sendVerificationEmail(String toEmail, String verificationCode) {
+    public void sendVerificationEmail(String toEmail, String verificationCode, Locale locale) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-            helper.setTo(toEmail);
-            helper.setSubject("Email Verification");
-            helper.setText(buildVerificationCodeEmailContent(verificationCode), true);
-
-            mailSender.send(message);
+            send(toEmail, templateEngine.render("verification", locale, Map.of("code", verificationCode)));
         } catch (MessagingException e) {
             throw new EmailSendException("Failed to send email", e);
         }
     }
 
-    public void sendPasswordResetEmail(String toEmail, String resetCode) {
+    public void sendVerificationLinkEmail(String toEmail, String linkToken, Locale locale) {
+        String link = backendUrl + "/api/email/verify?token=" + linkToken;
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-            helper.setTo(toEmail);
-            helper.setSubject("Reset Your Password");
-            helper.setText(buildPasswordResetEmailContent(resetCode), true);
+            send(toEmail, templateEngine.render("verification-link", locale, Map.of("link", link)));
+        } catch (MessagingException e) {
+            throw new EmailSendException("Failed to send email", e);
+        }
+    }
 
-            mailSender.send(message);
+    public void sendPasswordResetEmail(String toEmail, String resetCode, Locale locale) {
+        try {
+            send(toEmail, templateEngine.render("password-reset", locale, Map.of("code", resetCode)));
         } catch (MessagingException e) {
             throw new EmailSendException("Failed to send password reset email", e);
         }
     }
 
-    private String buildPasswordResetEmailContent(String resetCode) {
-        return "<html><body>" +
-                "<h2>Reset Your Password</h2>" +
-                "<p>Your password reset code is:</p>" +
-                "<h1 style='font-size: 32px; letter-spacing: 5px; color: #007bff;'>" + resetCode + "</h1>" +
-                "<p>Enter this code on the password reset page to continue.</p>" +
-                "<p style='color: #666; font-size: 12px;'>This code will expire in 15 minutes.</p>" +
-                "<p>If you didn't request this, ignore this email.</p>" +
-                "</body></html>";
-    }
+    private void send(String toEmail, RenderedEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setTo(toEmail);
+        helper.setSubject(email.subject());
+        helper.setText(email.text(), email.html());
 
-    private String buildVerificationCodeEmailContent(String code) {
-        return "<html><body>" +
-                "<h2>Email Verification</h2>" +
-                "<p>Your verification code is:</p>" +
-                "<h1>" + code + "</h1>" +
-                "<p>This code will expire in 15 minutes.</p>" +
-                "</body></html>";
+        transportPool.send(message);
     }
 }
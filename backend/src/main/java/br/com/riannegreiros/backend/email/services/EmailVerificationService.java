@@ -1,21 +1,23 @@
 package br.com.riannegreiros.backend.email.services;
 
-import java.util.Optional;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import br.com.riannegreiros.backend.config.TokenConfig;
-import br.com.riannegreiros.backend.email.VerificationCode;
-import br.com.riannegreiros.backend.email.repository.VerificationCodeRepository;
+import br.com.riannegreiros.backend.config.TokenPair;
 import br.com.riannegreiros.backend.email.request.EmailVerificationRequest;
 import br.com.riannegreiros.backend.email.request.ResendVerificationCodeRequest;
 import br.com.riannegreiros.backend.email.response.EmailVerificationResponse;
+import br.com.riannegreiros.backend.email.store.VerificationCodeStore;
 import br.com.riannegreiros.backend.users.User;
 import br.com.riannegreiros.backend.users.repository.UserRepository;
+import br.com.riannegreiros.backend.users.service.EmailExistenceFilter;
+import br.com.riannegreiros.backend.users.service.RefreshTokenService;
+import br.com.riannegreiros.backend.users.service.UserProfileCache;
 import br.com.riannegreiros.backend.util.exceptions.UserNotFoundException;
-import br.com.riannegreiros.backend.util.exceptions.VerificationCodeNotFoundException;
 import br.com.riannegreiros.backend.util.exceptions.VerificationException;
 import jakarta.transaction.Transactional;
 
@@ -24,24 +26,34 @@ public class EmailVerificationService {
     private static final Logger log = LoggerFactory.getLogger(EmailVerificationService.class);
 
     private final UserRepository userRepository;
-    private final TokenConfig tokenConfig;
-    private final VerificationCodeRepository verificationCodeRepository;
-    private final EmailService emailService;
+    private final RefreshTokenService refreshTokenService;
+    private final VerificationCodeStore verificationCodeStore;
+    private final EmailOutbox emailOutbox;
+    private final UserProfileCache profileCache;
+    private final VerificationLinkSigner linkSigner;
+    private final EmailExistenceFilter emailFilter;
+    private final boolean linkMode;
 
     public EmailVerificationService(UserRepository userRepository,
-            TokenConfig tokenConfig, VerificationCodeRepository verificationCodeRepository, EmailService emailService) {
+            RefreshTokenService refreshTokenService, VerificationCodeStore verificationCodeStore, EmailOutbox emailOutbox,
+            UserProfileCache profileCache, VerificationLinkSigner linkSigner, EmailExistenceFilter emailFilter,
+            @Value("${app.email.verification.mode:code}") String verificationMode) {
         this.userRepository = userRepository;
-        this.tokenConfig = tokenConfig;
-        this.verificationCodeRepository = verificationCodeRepository;
-        this.emailService = emailService;
+        this.refreshTokenService = refreshTokenService;
+        this.verificationCodeStore = verificationCodeStore;
+        this.emailOutbox = emailOutbox;
+        this.profileCache = profileCache;
+        this.linkSigner = linkSigner;
+        this.emailFilter = emailFilter;
+        this.linkMode = "link".equalsIgnoreCase(verificationMode);
     }
 
-    @Transactional
-    public EmailVerificationResponse verifyEmail(EmailVerificationRequest request) {
-        Optional<VerificationCode> vOptional = verificationCodeRepository.findByEmailAndCode(request.email(),
-                request.code());
+    public record VerificationResult(EmailVerificationResponse response, TokenPair tokens) {
+    }
 
-        if (!vOptional.isPresent() || vOptional.get().isExpired()) {
+    @Transactional
+    public VerificationResult verifyEmail(EmailVerificationRequest request) {
+        if (!verificationCodeStore.matches(request.email(), request.code())) {
             throw new VerificationException("Invalid or expired verification code");
         }
 
@@ -49,22 +61,67 @@ public class EmailVerificationService {
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
         user.setVerified(true);
+        user.touchProfile();
         userRepository.save(user);
-        verificationCodeRepository.deleteByEmail(request.email());
+        profileCache.evict(user.getId());
+        verificationCodeStore.remove(request.email());
 
-        String token = tokenConfig.generateToken(user);
+        TokenPair tokens = refreshTokenService.issueTokens(user);
 
-        return new EmailVerificationResponse(
-                token,
+        return new VerificationResult(new EmailVerificationResponse(
+                tokens.accessToken(),
                 user.getLastName(),
                 user.getFirstName(),
-                user.getEmail());
+                user.getEmail()), tokens);
+    }
+
+    /**
+     * Verifies a signed link without reading the user; the conditional update rejects replayed links.
+     */
+    @Transactional
+    public boolean verifyLink(String token) {
+        return linkSigner.verify(token)
+                .filter(claims -> userRepository.markVerified(claims.userId(), claims.version()) == 1)
+                .map(claims -> {
+                    profileCache.evict(claims.userId());
+                    log.info("Email verified by link for user: {}", claims.userId());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public void sendVerification(User user) {
+        if (linkMode) {
+            emailOutbox.enqueueVerificationLinkEmail(user.getEmail(),
+                    linkSigner.sign(user.getId(), user.getVerificationVersion()));
+        } else {
+            emailOutbox.enqueueVerificationEmail(user.getEmail(), verificationCodeStore.issue(user.getEmail()));
+        }
+    }
+
+    /**
+     * Queues verification emails for users created in bulk, keyed by email. New users start at
+     * verification version 0, so no entity has to be loaded to sign their links.
+     */
+    @Transactional
+    public void sendVerifications(Map<String, Long> userIdsByEmail) {
+        if (linkMode) {
+            userIdsByEmail.forEach((email, userId) -> emailOutbox.enqueueVerificationLinkEmail(email,
+                    linkSigner.sign(userId, 0)));
+        } else {
+            verificationCodeStore.issueAll(userIdsByEmail.keySet()).forEach(emailOutbox::enqueueVerificationEmail);
+        }
     }
 
     @Transactional
     public String resendVerificationCode(ResendVerificationCodeRequest request) {
         log.info("Resend verification code requested for email: {}", request.email());
 
+        if (!emailFilter.mightExist(request.email())) {
+            throw new UserNotFoundException("User not found with email: " + request.email());
+        }
+
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + request.email()));
 
@@ -72,16 +129,8 @@ public class EmailVerificationService {
             throw new VerificationException("Email already verified");
         }
 
-        Optional<VerificationCode> vOptional = verificationCodeRepository.findByEmail(request.email());
-
-        if (!vOptional.isPresent()) {
-            throw new VerificationCodeNotFoundException("No verification code found for email: " + request.email());
-        }
-
-        VerificationCode code = vOptional.get();
-        code.regenerate();
-
-        emailService.sendVerificationEmail(request.email(), code.getCode());
+        // Expired codes may already have been purged, so an unverified user always gets a fresh one
+        sendVerification(user);
 
         return "Verification code resent to " + request.email();
     }
@@ -0,0 +1,160 @@
+package br.com.riannegreiros.backend.email.services;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.riannegreiros.backend.util.exceptions.EmailSendException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Keeps authenticated SMTP connections open between messages instead of reconnecting for every
+ * email. The number of connections to the relay is capped; callers wait for a free one.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final int maxMessagesPerConnection;
+    private final Duration acquireTimeout;
+    private final Duration idleTimeout;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Counter connectionsOpened;
+    private final Counter messagesSent;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender, MeterRegistry meterRegistry,
+            @Value("${app.email.smtp.max-connections:4}") int maxConnections,
+            @Value("${app.email.smtp.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${app.email.smtp.acquire-timeout:PT10S}") Duration acquireTimeout,
+            @Value("${app.email.smtp.idle-timeout:PT30S}") Duration idleTimeout) {
+        this.mailSender = mailSender;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.acquireTimeout = acquireTimeout;
+        this.idleTimeout = idleTimeout;
+        this.permits = new Semaphore(maxConnections, true);
+
+        this.connectionsOpened = meterRegistry.counter("email.smtp.connections.opened");
+        this.messagesSent = meterRegistry.counter("email.smtp.messages.sent");
+        Gauge.builder("email.smtp.connections.active", permits, p -> maxConnections - p.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.connections.idle", idle, LinkedBlockingDeque::size)
+                .register(meterRegistry);
+    }
+
+    public void send(MimeMessage message) {
+        acquirePermit();
+        PooledTransport pooled = null;
+        try {
+            pooled = borrow();
+
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            pooled.transport().sendMessage(message, message.getAllRecipients());
+            messagesSent.increment();
+
+            release(pooled.used());
+            pooled = null;
+        } catch (MessagingException e) {
+            throw new EmailSendException("Failed to send email", e);
+        } finally {
+            // A connection that failed mid-send is in an unknown state, so it is closed rather than reused
+            if (pooled != null) {
+                close(pooled);
+            }
+            permits.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.smtp.idle-timeout:PT30S}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        PooledTransport pooled;
+        while ((pooled = idle.pollLast()) != null) {
+            if (pooled.lastUsed() - cutoff > 0) {
+                idle.offerLast(pooled);
+                return;
+            }
+            close(pooled);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            close(pooled);
+        }
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new EmailSendException("Timed out waiting for an SMTP connection", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmailSendException("Interrupted waiting for an SMTP connection", e);
+        }
+    }
+
+    // Most recently used connections are taken first so the rest can age out
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.transport().isConnected()) {
+                return pooled;
+            }
+            close(pooled);
+        }
+
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                mailSender.getPassword());
+        connectionsOpened.increment();
+        return new PooledTransport(transport, 0, System.nanoTime());
+    }
+
+    private void release(PooledTransport pooled) {
+        if (pooled.messages() >= maxMessagesPerConnection) {
+            close(pooled);
+        } else {
+            idle.offerFirst(pooled);
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport().close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private record PooledTransport(Transport transport, int messages, long lastUsed) {
+
+        PooledTransport used() {
+            return new PooledTransport(transport, messages + 1, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.riannegreiros.backend.email.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs email verification links as {@code userId.version.expiresAt.signature}. The version ties a
+ * link to the user's current verification_version, so a link stops working once it has been used.
+ */
+@Component
+public class VerificationLinkSigner {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ThreadLocal<Mac> mac;
+
+    public VerificationLinkSigner(@Value("${jwt.secret}") String secret,
+            @Value("${app.email.verification.link-ttl:P1D}") Duration ttl) {
+        // A key derived from the JWT secret, so a link signature can never pass as a token signature
+        this.key = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM),
+                "email-verification-link"), HMAC_ALGORITHM);
+        this.ttl = ttl;
+        this.mac = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    public record LinkClaims(long userId, int version) {
+    }
+
+    public String sign(long userId, int version) {
+        String payload = userId + "." + version + "." + Instant.now().plus(ttl).getEpochSecond();
+        return payload + "." + ENCODER.encodeToString(mac.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    public Optional<LinkClaims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0) {
+            return Optional.empty();
+        }
+
+        String payload = token.substring(0, signatureStart);
+        try {
+            byte[] signature = DECODER.decode(token.substring(signatureStart + 1));
+            byte[] expected = mac.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, signature)) {
+                return Optional.empty();
+            }
+
+            String[] parts = payload.split("\\.");
+            if (parts.length != 3 || Long.parseLong(parts[2]) < Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new LinkClaims(Long.parseLong(parts[0]), Integer.parseInt(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] hmac(SecretKeySpec key, String data) {
+        return newMac(key).doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.riannegreiros.backend.email.store;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps codes in process memory, so it only suits single-node deployments. Codes are stored as
+ * ints, and a hashed timing wheel drops expired entries without scanning the whole map.
+ */
+@Component
+@ConditionalOnProperty(name = "app.verification.store", havingValue = "memory")
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final ConcurrentHashMap<String, Entry> codes = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String>[] wheel;
+    private final long ttlMillis;
+    private final long tickMillis;
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryVerificationCodeStore(MeterRegistry meterRegistry,
+            @Value("${app.verification.code-ttl:PT15M}") Duration ttl,
+            @Value("${app.verification.wheel-tick:PT30S}") Duration tick) {
+        this.ttlMillis = ttl.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.lastTick = System.currentTimeMillis() / tickMillis;
+
+        // Enough slots that an entry never lands in the slot of the tick currently being processed
+        int slots = (int) ((ttlMillis + tickMillis - 1) / tickMillis) + 2;
+        this.wheel = new ConcurrentLinkedQueue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        Gauge.builder("verification.codes.active", codes, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @Override
+    public String issue(String email) {
+        return format(store(email));
+    }
+
+    @Override
+    public boolean matches(String email, String code) {
+        Entry entry = codes.get(email);
+        return entry != null
+                && entry.expiresAt() > System.currentTimeMillis()
+                && format(entry.code()).equals(code);
+    }
+
+    @Override
+    public void remove(String email) {
+        codes.remove(email);
+    }
+
+    @Scheduled(fixedRateString = "${app.verification.wheel-tick:PT30S}")
+    public synchronized void expire() {
+        long now = System.currentTimeMillis();
+        long currentTick = now / tickMillis;
+
+        // Catch up on ticks missed while the scheduler was busy
+        long firstTick = Math.max(lastTick + 1, currentTick - wheel.length + 1);
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            ConcurrentLinkedQueue<String> slot = wheel[(int) (tick % wheel.length)];
+            String email;
+            while ((email = slot.poll()) != null) {
+                Entry entry = codes.get(email);
+                if (entry != null && entry.expiresAt() <= now) {
+                    codes.remove(email, entry);
+                }
+            }
+        }
+        lastTick = currentTick;
+    }
+
+    private int store(String email) {
+        int code = SECURE_RANDOM.nextInt(1_000_000);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+
+        codes.put(email, new Entry(code, expiresAt));
+        wheel[(int) (((expiresAt + tickMillis - 1) / tickMillis) % wheel.length)].add(email);
+        return code;
+    }
+
+    private static String format(int code) {
+        return String.format("%06d", code);
+    }
+
+    private record Entry(int code, long expiresAt) {
+    }
+}
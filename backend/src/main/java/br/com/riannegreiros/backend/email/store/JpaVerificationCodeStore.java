@@ -0,0 +1,54 @@
+package br.com.riannegreiros.backend.email.store;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.riannegreiros.backend.email.VerificationCode;
+import br.com.riannegreiros.backend.email.repository.VerificationCodeRepository;
+import jakarta.transaction.Transactional;
+
+@Component
+@Transactional
+@ConditionalOnProperty(name = "app.verification.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaVerificationCodeStore implements VerificationCodeStore {
+
+    private final VerificationCodeRepository verificationCodeRepository;
+
+    public JpaVerificationCodeStore(VerificationCodeRepository verificationCodeRepository) {
+        this.verificationCodeRepository = verificationCodeRepository;
+    }
+
+    @Override
+    public String issue(String email) {
+        verificationCodeRepository.deleteByEmail(email);
+        return verificationCodeRepository.save(new VerificationCode(email)).getCode();
+    }
+
+    @Override
+    public Map<String, String> issueAll(Collection<String> emails) {
+        verificationCodeRepository.deleteAllByEmailIn(emails);
+        List<VerificationCode> saved = verificationCodeRepository.saveAll(
+                emails.stream().map(VerificationCode::new).toList());
+
+        Map<String, String> codes = new LinkedHashMap<>();
+        saved.forEach(verificationCode -> codes.put(verificationCode.getEmail(), verificationCode.getCode()));
+        return codes;
+    }
+
+    @Override
+    public boolean matches(String email, String code) {
+        return verificationCodeRepository.findByEmailAndCode(email, code)
+                .filter(verificationCode -> !verificationCode.isExpired())
+                .isPresent();
+    }
+
+    @Override
+    public void remove(String email) {
+        verificationCodeRepository.deleteByEmail(email);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.riannegreiros.backend.email.store;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived email verification codes. Selected with {@code app.verification.store}:
+ * {@code jpa} (default, shared by all nodes through Postgres) or {@code memory} (single node).
+ */
+public interface VerificationCodeStore {
+
+    /** Creates a new code for the email, replacing any previous one. */
+    String issue(String email);
+
+    /** Issues codes for several emails at once, keyed by email. */
+    default Map<String, String> issueAll(Collection<String> emails) {
+        Map<String, String> codes = new LinkedHashMap<>();
+        for (String email : emails) {
+            codes.put(email, issue(email));
+        }
+        return codes;
+    }
+
+    boolean matches(String email, String code);
+
+    void remove(String email);
+}
@@ -0,0 +1,73 @@
+package br.com.riannegreiros.backend.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template split once into literal text and {@code {{variable}}} slots, so rendering is a
+ * sequence of appends with no parsing.
+ */
+final class EmailTemplate {
+
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean escapeHtml;
+
+    private EmailTemplate(String[] literals, String[] variables, boolean escapeHtml) {
+        this.literals = literals;
+        this.variables = variables;
+        this.escapeHtml = escapeHtml;
+    }
+
+    static EmailTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        int position = 0;
+        int start;
+        while ((start = source.indexOf("{{", position)) >= 0) {
+            int end = source.indexOf("}}", start + 2);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed template variable at offset " + start);
+            }
+            literals.add(source.substring(position, start));
+            variables.add(source.substring(start + 2, end).trim());
+            position = end + 2;
+        }
+        literals.add(source.substring(position));
+
+        return new EmailTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new), escapeHtml);
+    }
+
+    void renderTo(StringBuilder out, Map<String, String> values) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+
+            String value = values.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing template variable: " + variables[i]);
+            }
+            if (escapeHtml) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[variables.length]);
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
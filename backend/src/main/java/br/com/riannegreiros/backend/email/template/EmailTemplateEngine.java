@@ -0,0 +1,98 @@
+package br.com.riannegreiros.backend.email.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders the templates under {@code resources/email}. Each template name has a {@code .txt} and
+ * an {@code .html} file, optionally with locale variants such as {@code verification_pt_BR.html};
+ * subjects come from {@code email/subjects*.properties}.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String TEMPLATE_PATH = "email/";
+    private static final String SUBJECTS_BUNDLE = "email.subjects";
+    private static final List<String> EXTENSIONS = List.of("txt", "html");
+    private static final int MAX_POOLED_BUFFER = 64 * 1024;
+
+    private static final ResourceBundle.Control NO_FALLBACK = ResourceBundle.Control
+            .getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final Map<String, EmailTemplate> templates = loadAll();
+
+    public RenderedEmail render(String name, Locale locale, Map<String, String> values) {
+        String subject = ResourceBundle.getBundle(SUBJECTS_BUNDLE, locale, NO_FALLBACK).getString(name);
+        return new RenderedEmail(subject,
+                render(template(name, locale, "txt"), values),
+                render(template(name, locale, "html"), values));
+    }
+
+    private String render(EmailTemplate template, Map<String, String> values) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, values);
+        String rendered = buffer.toString();
+
+        // Don't keep an unusually large buffer alive on the thread
+        if (buffer.capacity() > MAX_POOLED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    // Keyed by the file that exists rather than the requested locale, which comes from the client
+    // and would otherwise grow the cache without bound
+    // Most specific first: name_pt_BR, then name_pt, then name; the country step is skipped when absent
+    private EmailTemplate template(String name, Locale locale, String extension) {
+        String language = locale.getLanguage();
+        EmailTemplate template = null;
+        if (!language.isEmpty()) {
+            if (!locale.getCountry().isEmpty()) {
+                template = templates.get(name + '_' + language + '_' + locale.getCountry() + '.' + extension);
+            }
+            if (template == null) {
+                template = templates.get(name + '_' + language + '.' + extension);
+            }
+        }
+        if (template == null) {
+            template = templates.get(name + '.' + extension);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("Email template not found: " + name + '.' + extension);
+        }
+        return template;
+    }
+
+    // Every template is read and compiled once at startup, keyed by its file name
+    private static Map<String, EmailTemplate> loadAll() {
+        Map<String, EmailTemplate> loaded = new HashMap<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(
+                EmailTemplateEngine.class.getClassLoader());
+        try {
+            for (String extension : EXTENSIONS) {
+                for (Resource resource : resolver.getResources("classpath*:" + TEMPLATE_PATH + "*." + extension)) {
+                    try (InputStream in = resource.getInputStream()) {
+                        String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                        loaded.putIfAbsent(resource.getFilename(), EmailTemplate.compile(source, extension.equals("html")));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read email templates", e);
+        }
+        return Map.copyOf(loaded);
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.riannegreiros.backend.email.template;
+
+public record RenderedEmail(String subject, String text, String html) {
+}
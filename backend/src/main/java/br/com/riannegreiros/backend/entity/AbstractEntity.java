@@ -9,7 +9,9 @@ import lombok.Getter;
 @MappedSuperclass
 @Getter
 public class AbstractEntity {
+    // One sequence per entity, named after it in snake_case (VerificationCode -> verification_code_seq),
+    // with the default pooled allocation of 50, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 }
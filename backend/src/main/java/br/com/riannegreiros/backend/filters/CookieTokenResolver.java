@@ -0,0 +1,17 @@
+package br.com.riannegreiros.backend.filters;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import br.com.riannegreiros.backend.config.AuthCookies;
+import jakarta.servlet.http.HttpServletRequest;
+
+@Component
+@Order(2)
+public class CookieTokenResolver implements TokenResolver {
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        return AuthCookies.readCookie(request, AuthCookies.TOKEN_COOKIE);
+    }
+}
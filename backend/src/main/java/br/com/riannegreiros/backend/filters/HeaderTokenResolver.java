@@ -0,0 +1,23 @@
+package br.com.riannegreiros.backend.filters;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@Component
+@Order(1)
+public class HeaderTokenResolver implements TokenResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)
+                && authHeader.length() > BEARER_PREFIX.length()) {
+            return authHeader.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
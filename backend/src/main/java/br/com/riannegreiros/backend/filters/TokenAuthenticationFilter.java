@@ -0,0 +1,75 @@
+package br.com.riannegreiros.backend.filters;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.riannegreiros.backend.config.JWTUserData;
+import br.com.riannegreiros.backend.config.SecurityConfig;
+import br.com.riannegreiros.backend.config.TokenRevocationList;
+import br.com.riannegreiros.backend.config.VerifiedTokenCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenAuthenticationFilter.class);
+
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    private final List<TokenResolver> tokenResolvers;
+    private final RequestMatcher publicPaths;
+
+    public TokenAuthenticationFilter(VerifiedTokenCache tokenCache, TokenRevocationList revocationList,
+            List<TokenResolver> tokenResolvers) {
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.tokenResolvers = tokenResolvers;
+        this.publicPaths = new OrRequestMatcher(Arrays.stream(SecurityConfig.PUBLIC_PATHS)
+                .<RequestMatcher>map(PathPatternRequestMatcher.withDefaults()::matcher)
+                .toList());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPaths.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = TokenResolver.resolveFirst(tokenResolvers, request);
+
+            if (token != null) {
+                Optional<JWTUserData> userData = tokenCache.validate(token)
+                        .filter(data -> !revocationList.isRevoked(data.tokenId()));
+
+                if (userData.isPresent()) {
+                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                            userData.get(), null, List.of());
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                } else {
+                    log.debug("Token validation failed for {} {}", request.getMethod(), request.getRequestURI());
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.riannegreiros.backend.filters;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@FunctionalInterface
+public interface TokenResolver {
+    String resolve(HttpServletRequest request);
+
+    static String resolveFirst(List<TokenResolver> resolvers, HttpServletRequest request) {
+        for (TokenResolver resolver : resolvers) {
+            String token = resolver.resolve(request);
+            if (token != null) {
+                return token;
+            }
+        }
+        return null;
+    }
+}
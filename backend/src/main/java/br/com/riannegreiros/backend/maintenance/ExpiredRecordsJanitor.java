@@ -0,0 +1,138 @@
+package br.com.riannegreiros.backend.maintenance;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Deletes expired verification codes, reset tokens, refresh tokens and revocation entries, and
+ * finished outbox emails past their retention, in small batches. Every batch is its own short
+ * transaction and the index on the expiry column drives it.
+ * A session advisory lock makes sure only one node runs the purge at a time.
+ */
+@Component
+public class ExpiredRecordsJanitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredRecordsJanitor.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x6a616e69746f72L;
+
+    private final List<Target> targets;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration batchPause;
+
+    public ExpiredRecordsJanitor(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${app.janitor.batch-size:1000}") int batchSize,
+            @Value("${app.janitor.batch-pause:PT0.1S}") Duration batchPause,
+            @Value("${app.janitor.email-outbox-retention:P7D}") Duration emailOutboxRetention) {
+        this.targets = List.of(
+                new Target("verification_codes", "expires_at < ?", Duration.ZERO),
+                new Target("password_reset_tokens", "expiry_date < ?", Duration.ZERO),
+                new Target("password_reset_tokens", "used AND expiry_date >= ?", Duration.ZERO),
+                new Target("refresh_tokens", "expires_at < ?", Duration.ZERO),
+                new Target("revoked_tokens", "expires_at < ?", Duration.ZERO),
+                new Target("email_outbox", "status IN ('SENT', 'DEAD') AND created_at < ?", emailOutboxRetention));
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+    }
+
+    @Scheduled(fixedDelayString = "${app.janitor.interval:PT15M}", initialDelayString = "${app.janitor.initial-delay:PT1M}")
+    public void purge() {
+        // The advisory lock is held by the session, so the whole run stays on one connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!tryLock(connection)) {
+                log.debug("Expired records purge is running on another node");
+                return null;
+            }
+
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                for (Target target : targets) {
+                    purge(connection, target, now);
+                }
+            } finally {
+                unlock(connection);
+            }
+            return null;
+        });
+    }
+
+    private void purge(Connection connection, Target target, LocalDateTime now) throws SQLException {
+        String sql = "DELETE FROM " + target.table() + " WHERE id IN (SELECT id FROM " + target.table()
+                + " WHERE " + target.condition() + " LIMIT ?)";
+        Timer batchTimer = meterRegistry.timer("janitor.batch.duration", "table", target.table());
+
+        long total = 0;
+        int deleted;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, Timestamp.valueOf(now.minus(target.retention())));
+            statement.setInt(2, batchSize);
+
+            do {
+                long start = System.nanoTime();
+                deleted = statement.executeUpdate();
+                batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                total += deleted;
+
+                if (deleted == batchSize && !pause()) {
+                    break;
+                }
+            } while (deleted == batchSize);
+        }
+
+        if (total > 0) {
+            meterRegistry.counter("janitor.rows.purged", "table", target.table()).increment(total);
+            log.info("Purged {} rows from {} ({})", total, target.table(), target.condition());
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            statement.execute();
+        }
+    }
+
+    // The condition is compared with the current time minus the retention
+    private record Target(String table, String condition, Duration retention) {
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.riannegreiros.backend.storage;
+
+public final class StorageKeys {
+
+    private StorageKeys() {
+    }
+
+    // Two directory levels from the start of a random id keep directories small and object prefixes spread out
+    public static String sharded(String directory, String id, String fileName) {
+        String prefix = directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/";
+        return prefix + id.substring(0, 2) + "/" + id.substring(2, 4) + "/" + fileName;
+    }
+}
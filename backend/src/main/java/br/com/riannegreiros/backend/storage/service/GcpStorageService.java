@@ -2,62 +2,78 @@ package br.com.riannegreiros.backend.storage.service;
 
 import com.google.cloud.storage.*;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import br.com.riannegreiros.backend.util.exceptions.StorageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "gcs", matchIfMissing = true)
 public class GcpStorageService implements StorageService {
 
-    @Value("${gcp.project-id}")
-    private String projectId;
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
 
-    @Value("${gcp.bucket-name}")
-    private String bucketName;
+    private final Storage storage;
+    private final MeterRegistry meterRegistry;
+    private final String bucketName;
+
+    public GcpStorageService(Storage storage, MeterRegistry meterRegistry,
+            @Value("${gcp.bucket-name}") String bucketName) {
+        this.storage = storage;
+        this.meterRegistry = meterRegistry;
+        this.bucketName = bucketName;
+    }
 
     @Override
-    public String uploadFile(MultipartFile file, String path) throws IOException {
+    public String store(String key, String contentType, byte[] content) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            String fileName = generateFileName(file, path);
-            Storage storage = StorageOptions.newBuilder().setProjectId(projectId).build().getService();
-            
-            BlobId blobId = BlobId.of(bucketName, fileName);
-            BlobInfo blobInfo = BlobInfo.newBuilder(blobId).setContentType(file.getContentType()).build();
-            
-            storage.createFrom(blobInfo, file.getInputStream());
-            return String.format("https://storage.googleapis.com/%s/%s", bucketName, fileName);
+            BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, key))
+                    .setContentType(contentType)
+                    .setCacheControl(IMMUTABLE_CACHE_CONTROL)
+                    .build();
+
+            // Content already in memory goes up in one request instead of a resumable session
+            storage.create(blobInfo, content);
+            outcome = "success";
+            return urlFor(key);
         } catch (Exception e) {
             throw new IOException("Failed to upload file: " + e.getMessage(), e);
+        } finally {
+            sample.stop(timer("storage.upload", outcome));
         }
     }
 
     @Override
     public void deleteFile(String fileUrl) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            String fileName = extractFileName(fileUrl);
-            Storage storage = StorageOptions.newBuilder().setProjectId(projectId).build().getService();
-            
-            Blob blob = storage.get(bucketName, fileName);
-            if (blob != null) {
-                blob.delete();
-            }
+            // A single DELETE; it reports false when the object is already gone
+            boolean deleted = storage.delete(BlobId.of(bucketName, extractFileName(fileUrl)));
+            outcome = deleted ? "success" : "not_found";
         } catch (Exception e) {
             throw new StorageException("Failed to delete file: " + e.getMessage(), e);
+        } finally {
+            sample.stop(timer("storage.delete", outcome));
         }
     }
 
-    private String generateFileName(MultipartFile file, String path) {
-        String extension = getFileExtension(file.getOriginalFilename());
-        return path + "_" + UUID.randomUUID() + extension;
+    @Override
+    public String urlFor(String key) {
+        return String.format("https://storage.googleapis.com/%s/%s", bucketName, key);
     }
 
-    private String getFileExtension(String filename) {
-        return filename != null && filename.contains(".") ? 
-            filename.substring(filename.lastIndexOf(".")) : "";
+    private Timer timer(String name, String outcome) {
+        return Timer.builder(name)
+                .tag("backend", "gcs")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     private String extractFileName(String fileUrl) {
@@ -0,0 +1,123 @@
+package br.com.riannegreiros.backend.storage.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import br.com.riannegreiros.backend.util.exceptions.StorageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Stores files under {@code app.storage.local.root} for deployments without a cloud bucket.
+ * Keys are spread over two levels of directories taken from their hash, e.g.
+ * {@code avatars/3f/a1/3fa1..._256.jpg}, and files only appear once fully written.
+ * They are served by {@code LocalFileController}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalFileStorageService implements StorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFileStorageService.class);
+
+    private final Path root;
+    private final String publicUrl;
+    private final MeterRegistry meterRegistry;
+
+    public LocalFileStorageService(MeterRegistry meterRegistry,
+            @Value("${app.storage.local.root:./data/storage}") String root,
+            @Value("${app.storage.local.public-url:${app.backend.url}/api/files}") String publicUrl)
+            throws IOException {
+        this.root = Files.createDirectories(Path.of(root)).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+        this.meterRegistry = meterRegistry;
+        log.info("Storing files under {}", this.root);
+    }
+
+    @Override
+    public String store(String key, String contentType, byte[] content) throws IOException {
+        return write(key, new ByteArrayInputStream(content));
+    }
+
+    private String write(String key, InputStream in) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Path target = resolve(key).orElseThrow(() -> new IOException("Invalid storage key: " + key));
+            Files.createDirectories(target.getParent());
+
+            // Written next to the target so the move is a rename on the same file system
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            outcome = "success";
+            return urlFor(key);
+        } finally {
+            sample.stop(timer("storage.upload", outcome));
+        }
+    }
+
+    @Override
+    public void deleteFile(String fileUrl) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            if (!fileUrl.startsWith(publicUrl + "/")) {
+                log.warn("Not deleting {}: it is not stored locally", fileUrl);
+                outcome = "not_found";
+                return;
+            }
+
+            Optional<Path> file = resolve(fileUrl.substring(publicUrl.length() + 1));
+            outcome = file.isPresent() && Files.deleteIfExists(file.get()) ? "success" : "not_found";
+        } catch (IOException e) {
+            throw new StorageException("Failed to delete file: " + e.getMessage(), e);
+        } finally {
+            sample.stop(timer("storage.delete", outcome));
+        }
+    }
+
+    @Override
+    public String urlFor(String key) {
+        return publicUrl + "/" + key;
+    }
+
+    /**
+     * Maps a storage key to its file, or empty when the key would escape the storage root or names a
+     * hidden file, such as an upload that is still being written.
+     */
+    public Optional<Path> resolve(String key) {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            return Optional.empty();
+        }
+        for (Path part : root.relativize(file)) {
+            if (part.toString().startsWith(".")) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(file);
+    }
+
+    private Timer timer(String name, String outcome) {
+        return Timer.builder(name)
+                .tag("backend", "local")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,9 +1,17 @@
 package br.com.riannegreiros.backend.storage.service;
 
 import java.io.IOException;
-import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * Stored objects are never rewritten under the same key, so backends serve them with immutable
+ * caching; new content always gets a new key.
+ */
 public interface StorageService {
-    String uploadFile(MultipartFile file, String path) throws IOException;
+    /** Stores the content under exactly {@code key} and returns its public URL. */
+    String store(String key, String contentType, byte[] content) throws IOException;
+
+    /** Public URL of an object stored under {@code key}, without contacting the backend. */
+    String urlFor(String key);
+
     void deleteFile(String fileUrl);
 }
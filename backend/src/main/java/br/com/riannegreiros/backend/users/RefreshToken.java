@@ -0,0 +1,59 @@
+package br.com.riannegreiros.backend.users;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import br.com.riannegreiros.backend.entity.AbstractEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "refresh_tokens")
+public class RefreshToken extends AbstractEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private boolean used = false;
+
+    @Column(nullable = false)
+    private boolean revoked = false;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    public RefreshToken(User user, String tokenHash, UUID familyId, LocalDateTime expiresAt) {
+        this.user = user;
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+
+    public void markUsed() {
+        this.used = true;
+        this.usedAt = LocalDateTime.now();
+    }
+
+    public boolean wasUsedWithin(Duration window) {
+        return usedAt != null && LocalDateTime.now().isBefore(usedAt.plus(window));
+    }
+}
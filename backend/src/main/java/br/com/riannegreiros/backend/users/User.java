@@ -1,12 +1,16 @@
 package br.com.riannegreiros.backend.users;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import br.com.riannegreiros.backend.entity.AbstractEntity;
+import br.com.riannegreiros.backend.util.EmailAddresses;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -29,6 +33,17 @@ public class User extends AbstractEntity implements UserDetails {
     @Column(name = "is_verified")
     private boolean verified = false;
 
+    @Column(name = "profile_version", nullable = false)
+    private int profileVersion;
+
+    @Column(name = "verification_version", nullable = false)
+    private int verificationVersion;
+
+    // Taken from the database clock, which EmailExistenceFilter polls against
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of();
@@ -38,4 +53,12 @@ public class User extends AbstractEntity implements UserDetails {
     public String getUsername() {
         return email;
     }
+
+    public void setEmail(String email) {
+        this.email = EmailAddresses.normalize(email);
+    }
+
+    public void touchProfile() {
+        this.profileVersion++;
+    }
 }
@@ -2,6 +2,8 @@ package br.com.riannegreiros.backend.users.controller;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.riannegreiros.backend.config.AuthCookies;
+import br.com.riannegreiros.backend.config.TokenPair;
 import br.com.riannegreiros.backend.users.dto.request.LoginRequest;
 import br.com.riannegreiros.backend.users.dto.request.UserRegisterRequest;
 import br.com.riannegreiros.backend.users.dto.response.LoginResponse;
@@ -10,7 +12,8 @@ import br.com.riannegreiros.backend.users.service.AuthService;
 import br.com.riannegreiros.backend.users.service.UserService;
 import br.com.riannegreiros.backend.util.exceptions.AuthenticationException;
 import br.com.riannegreiros.backend.util.exceptions.EmailAlreadyExistsException;
-import jakarta.servlet.http.Cookie;
+import br.com.riannegreiros.backend.util.exceptions.RefreshTokenAlreadyUsedException;
+import br.com.riannegreiros.backend.util.exceptions.ServiceOverloadedException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -35,10 +38,12 @@ public class AuthController {
 
     private final UserService userService;
     private final AuthService authService;
+    private final AuthCookies authCookies;
 
-    public AuthController(AuthService authService, UserService userService) {
+    public AuthController(AuthService authService, UserService userService, AuthCookies authCookies) {
         this.authService = authService;
         this.userService = userService;
+        this.authCookies = authCookies;
     }
 
     @GetMapping("/current")
@@ -64,21 +69,35 @@ public class AuthController {
         SecurityContextHolder.clearContext();
 
         try {
-            LoginResponse loginResponse = authService.authenticate(request);
+            TokenPair tokens = authService.authenticate(request);
 
-            Cookie cookie = new Cookie("auth_token", loginResponse.token());
-            cookie.setHttpOnly(true);
-            cookie.setSecure(false);
-            cookie.setMaxAge(86400);
-            cookie.setPath("/");
-            response.addCookie(cookie);
+            authCookies.addTokenCookies(response, tokens);
 
-            return ResponseEntity.ok(loginResponse);
+            return ResponseEntity.ok(new LoginResponse(tokens.accessToken()));
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             throw new AuthenticationException("Invalid credentials or authentication failed");
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(HttpServletRequest request, HttpServletResponse response) {
+        try {
+            TokenPair tokens = authService.refresh(AuthCookies.readCookie(request, AuthCookies.REFRESH_COOKIE));
+
+            authCookies.addTokenCookies(response, tokens);
+
+            return ResponseEntity.ok(new LoginResponse(tokens.accessToken()));
+        } catch (RefreshTokenAlreadyUsedException e) {
+            // The request that rotated it has just set new cookies; clearing them would log the user out
+            throw e;
+        } catch (AuthenticationException e) {
+            authCookies.clearTokenCookies(response);
+            throw e;
+        }
+    }
+
     @PostMapping("/register")
     public ResponseEntity<UserRegisterResponse> register(
             @Valid @RequestBody UserRegisterRequest request) {
@@ -88,7 +107,7 @@ public class AuthController {
         try {
             UserRegisterResponse response = userService.registerUser(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (EmailAlreadyExistsException e) {
+        } catch (EmailAlreadyExistsException | ServiceOverloadedException e) {
             throw e;
         } catch (Exception e) {
             throw new AuthenticationException("Registration failed: " + e.getMessage());
@@ -97,11 +116,7 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(HttpServletRequest request, HttpServletResponse response) {
-        Cookie cookie = new Cookie("auth_token", "");
-        cookie.setMaxAge(0);
-        cookie.setPath("/");
-        cookie.setHttpOnly(true);
-        response.addCookie(cookie);
+        authCookies.clearTokenCookies(response);
 
         try {
             request.getSession().invalidate();
@@ -3,6 +3,7 @@ package br.com.riannegreiros.backend.users.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import br.com.riannegreiros.backend.config.AuthCookies;
 import br.com.riannegreiros.backend.users.dto.request.ForgotPasswordRequest;
 import br.com.riannegreiros.backend.users.dto.request.ResetPasswordRequest;
 import br.com.riannegreiros.backend.users.dto.request.UserUpdateRequest;
@@ -11,6 +12,8 @@ import br.com.riannegreiros.backend.users.dto.response.PasswordResetResponse;
 import br.com.riannegreiros.backend.users.dto.response.UserResponse;
 import br.com.riannegreiros.backend.users.service.PasswordResetService;
 import br.com.riannegreiros.backend.users.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,15 +25,22 @@ public class UserController {
 
     private final UserService userService;
     private final PasswordResetService passwordResetService;
+    private final AuthCookies authCookies;
 
-    public UserController(UserService userService, PasswordResetService passwordResetService) {
+    public UserController(UserService userService, PasswordResetService passwordResetService,
+            AuthCookies authCookies) {
         this.userService = userService;
         this.passwordResetService = passwordResetService;
+        this.authCookies = authCookies;
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<UserResponse> updateProfile(@Valid @RequestBody UserUpdateRequest request) {
+    public ResponseEntity<UserResponse> updateProfile(@Valid @RequestBody UserUpdateRequest request,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
         UserResponse response = userService.updateUser(request);
+
+        authCookies.sendReissuedToken(httpRequest, httpResponse, userService.reissueToken());
+
         return ResponseEntity.ok(response);
     }
 
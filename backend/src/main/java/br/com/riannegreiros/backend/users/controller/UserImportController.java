@@ -0,0 +1,60 @@
+package br.com.riannegreiros.backend.users.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.riannegreiros.backend.users.dto.response.UserImportEvent;
+import br.com.riannegreiros.backend.users.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+
+    public UserImportController(UserImportService userImportService, ObjectMapper objectMapper) {
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams the upload straight into the importer and answers with one NDJSON event per rejected
+     * row, a progress event per chunk and a final summary, flushed as they happen.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", NDJSON }, produces = NDJSON)
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    public void importUsers(@RequestParam(defaultValue = "true") boolean sendVerification,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = request.getContentType().startsWith("text/csv")
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        userImportService.importUsers(request.getInputStream(), format, sendVerification,
+                event -> write(out, event));
+    }
+
+    private void write(OutputStream out, UserImportEvent event) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Client stopped reading the import progress", e);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package br.com.riannegreiros.backend.users.dto.request;
 
+import br.com.riannegreiros.backend.util.EmailAddresses;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 
 public record ForgotPasswordRequest(
         @NotEmpty(message = "Email is required") @Email(message = "Invalid email format") String email) {
+
+    public ForgotPasswordRequest {
+        email = EmailAddresses.normalize(email);
+    }
 }
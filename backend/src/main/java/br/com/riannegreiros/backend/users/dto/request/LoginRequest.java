@@ -1,7 +1,12 @@
 package br.com.riannegreiros.backend.users.dto.request;
 
+import br.com.riannegreiros.backend.util.EmailAddresses;
 import jakarta.validation.constraints.NotEmpty;
 
 public record LoginRequest(@NotEmpty(message = "Email is required") String email,
         @NotEmpty(message = "Password is required") String password) {
+
+    public LoginRequest {
+        email = EmailAddresses.normalize(email);
+    }
 }
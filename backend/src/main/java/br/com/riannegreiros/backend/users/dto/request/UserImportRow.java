@@ -0,0 +1,28 @@
+package br.com.riannegreiros.backend.users.dto.request;
+
+import br.com.riannegreiros.backend.util.EmailAddresses;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One account in a bulk import. Exactly one of {@code password} (hashed during the import) or
+ * {@code passwordHash} (an existing bcrypt hash) must be given.
+ */
+public record UserImportRow(
+        @NotEmpty(message = "Email is required") @Size(max = 255, message = "Email is too long") String email,
+        @NotEmpty(message = "First name is required") @Size(max = 255, message = "First name is too long") String firstName,
+        @NotEmpty(message = "Last name is required") @Size(max = 255, message = "Last name is too long") String lastName,
+        String password,
+        @Pattern(regexp = "\\$2[aby]\\$\\d{2}\\$[./A-Za-z0-9]{53}", message = "Password hash must be bcrypt") String passwordHash) {
+
+    public UserImportRow {
+        email = EmailAddresses.normalize(email);
+    }
+
+    public boolean hasSinglePassword() {
+        boolean hasPassword = password != null && !password.isEmpty();
+        boolean hasHash = passwordHash != null && !passwordHash.isEmpty();
+        return hasPassword != hasHash;
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.riannegreiros.backend.users.dto.request;
 
+import br.com.riannegreiros.backend.util.EmailAddresses;
 import jakarta.validation.constraints.NotEmpty;
 
 public record UserRegisterRequest(
@@ -7,4 +8,8 @@ public record UserRegisterRequest(
         @NotEmpty(message = "First name is required") String firstName,
         @NotEmpty(message = "Last name is required") String lastName,
         @NotEmpty(message = "Password is required") String password) {
+
+    public UserRegisterRequest {
+        email = EmailAddresses.normalize(email);
+    }
 }
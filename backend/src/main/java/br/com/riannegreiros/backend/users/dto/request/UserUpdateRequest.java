@@ -1,5 +1,6 @@
 package br.com.riannegreiros.backend.users.dto.request;
 
+import br.com.riannegreiros.backend.util.EmailAddresses;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
@@ -14,4 +15,8 @@ public record UserUpdateRequest(
         @Email(message = "Email should be valid")
         String email
 ) {
+
+    public UserUpdateRequest {
+        email = EmailAddresses.normalize(email);
+    }
 }
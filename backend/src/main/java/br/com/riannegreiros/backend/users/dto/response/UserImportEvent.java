@@ -0,0 +1,30 @@
+package br.com.riannegreiros.backend.users.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A line of the NDJSON stream returned by the bulk import: a rejected row, a progress update
+ * after each chunk, or the final summary.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportEvent(
+        String type,
+        Integer line,
+        String email,
+        String error,
+        Long processed,
+        Long imported,
+        Long failed) {
+
+    public static UserImportEvent error(int line, String email, String error) {
+        return new UserImportEvent("error", line, email, error, null, null, null);
+    }
+
+    public static UserImportEvent progress(long processed, long imported, long failed) {
+        return new UserImportEvent("progress", null, null, null, processed, imported, failed);
+    }
+
+    public static UserImportEvent summary(long processed, long imported, long failed) {
+        return new UserImportEvent("summary", null, null, null, processed, imported, failed);
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.riannegreiros.backend.users.dto.response;
 
+import java.util.Map;
+
 public record UserResponse(
         String userId,
         String email,
         String firstName,
         String lastName,
-        String avatarUrl) {
+        String avatarUrl,
+        Map<Integer, String> avatarVariants) {
 }
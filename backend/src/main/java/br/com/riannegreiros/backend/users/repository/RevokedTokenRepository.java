@@ -0,0 +1,29 @@
+package br.com.riannegreiros.backend.users.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.riannegreiros.backend.users.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // A token revoked twice at once (logout racing a refresh) is a no-op rather than a unique violation
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (token_id, expires_at, revoked_at)
+            VALUES (:tokenId, :expiresAt, CURRENT_TIMESTAMP)
+            ON CONFLICT (token_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime revokedSince, LocalDateTime now);
+}
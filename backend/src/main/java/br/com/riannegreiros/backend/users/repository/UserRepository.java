@@ -3,13 +3,29 @@ package br.com.riannegreiros.backend.users.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.riannegreiros.backend.users.User;
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+    // Matches the unique index on lower(email)
+    @Query("SELECT u FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
 
-    boolean existsByEmail(String email);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    // Only matches while the link's version is current, so each link can verify at most once
+    @Modifying
+    @Query("UPDATE User u SET u.verified = true, u.verificationVersion = u.verificationVersion + 1, "
+            + "u.profileVersion = u.profileVersion + 1 "
+            + "WHERE u.id = :id AND u.verificationVersion = :version AND u.verified = false")
+    int markVerified(@Param("id") Long id, @Param("version") int version);
 }
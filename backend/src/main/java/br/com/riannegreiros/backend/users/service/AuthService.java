@@ -7,10 +7,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
-import br.com.riannegreiros.backend.config.TokenConfig;
+import br.com.riannegreiros.backend.config.TokenPair;
 import br.com.riannegreiros.backend.users.User;
 import br.com.riannegreiros.backend.users.dto.request.LoginRequest;
-import br.com.riannegreiros.backend.users.dto.response.LoginResponse;
+import br.com.riannegreiros.backend.util.exceptions.AuthenticationException;
 import br.com.riannegreiros.backend.util.exceptions.UserNotVerifiedException;
 
 @Service
@@ -19,14 +19,14 @@ public class AuthService {
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     private final AuthenticationManager authenticationManager;
-    private final TokenConfig tokenConfig;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthService(AuthenticationManager authenticationManager, TokenConfig tokenConfig) {
+    public AuthService(AuthenticationManager authenticationManager, RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
-        this.tokenConfig = tokenConfig;
+        this.refreshTokenService = refreshTokenService;
     }
 
-    public LoginResponse authenticate(LoginRequest request) {
+    public TokenPair authenticate(LoginRequest request) {
         String email = request.email();
         log.info("Authentication attempt for email: {}", email);
 
@@ -41,9 +41,16 @@ public class AuthService {
             throw new UserNotVerifiedException("User not verified");
         }
 
-        String token = tokenConfig.generateToken(user);
+        TokenPair tokens = refreshTokenService.issueTokens(user);
 
         log.info("Authentication successful for email: {}", email);
-        return new LoginResponse(token);
+        return tokens;
+    }
+
+    public TokenPair refresh(String refreshToken) {
+        if (refreshToken == null) {
+            throw new AuthenticationException("Refresh token is missing");
+        }
+        return refreshTokenService.rotate(refreshToken);
     }
 }
@@ -0,0 +1,118 @@
+package br.com.riannegreiros.backend.users.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.riannegreiros.backend.util.BloomFilter;
+import br.com.riannegreiros.backend.util.EmailAddresses;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+/**
+ * Bloom filter of registered emails, so lookups for emails that were never registered skip the
+ * database. Rebuilt periodically from the users table and kept current by polling updated_at.
+ * Until the first build finishes every email is reported as possibly existing. Emails registered
+ * on this node are added immediately; one registered on another node can be reported as missing
+ * here until the next poll, up to {@code app.email-filter.poll-interval} later.
+ */
+@Component
+public class EmailExistenceFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailExistenceFilter.class);
+
+    // updated_at and the poll start both come from the database clock; the overlap covers transactions
+    // that commit after the poll with an updated_at taken when they started
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double falsePositiveRate;
+    private final long minimumCapacity;
+
+    private volatile BloomFilter filter;
+    private volatile long entries;
+    private LocalDateTime lastPoll;
+
+    public EmailExistenceFilter(DataSource dataSource, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.email-filter.minimum-capacity:100000}") long minimumCapacity) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+
+        Gauge.builder("user.email-filter.memory", this, f -> f.filter == null ? 0 : f.filter.memoryBytes())
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder("user.email-filter.entries", this, f -> f.entries).register(meterRegistry);
+    }
+
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(EmailAddresses.normalize(email));
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(EmailAddresses.normalize(email));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email-filter.rebuild-interval:PT6H}", initialDelay = 0)
+    public synchronized void rebuild() {
+        LocalDateTime startedAt = databaseTime();
+        long users = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+
+        // Room to grow until the next rebuild without the false-positive rate drifting much
+        BloomFilter rebuilt = BloomFilter.create(Math.max(minimumCapacity, users * 2), falsePositiveRate);
+
+        // A cursor (fetch size inside a transaction) streams the emails without materializing rows
+        long[] count = { 0 };
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query("SELECT email FROM users",
+                resultSet -> {
+                    rebuilt.put(resultSet.getString(1));
+                    count[0]++;
+                }));
+
+        filter = rebuilt;
+        entries = count[0];
+        lastPoll = startedAt;
+        log.info("Email filter rebuilt with {} emails ({} KiB)", count[0], rebuilt.memoryBytes() / 1024);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email-filter.poll-interval:PT5S}")
+    public synchronized void poll() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+
+        LocalDateTime startedAt = databaseTime();
+        jdbcTemplate.query("SELECT email FROM users WHERE updated_at > ?",
+                (RowCallbackHandler) resultSet -> current.put(resultSet.getString(1)),
+                Timestamp.valueOf(lastPoll.minus(POLL_OVERLAP)));
+        lastPoll = startedAt;
+    }
+
+    private LocalDateTime databaseTime() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+    }
+}
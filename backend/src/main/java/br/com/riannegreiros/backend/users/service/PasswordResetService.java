@@ -1,6 +1,6 @@
 package br.com.riannegreiros.backend.users.service;
 
-import br.com.riannegreiros.backend.email.services.EmailService;
+import br.com.riannegreiros.backend.email.services.EmailOutbox;
 import br.com.riannegreiros.backend.users.PasswordResetToken;
 import br.com.riannegreiros.backend.users.User;
 import br.com.riannegreiros.backend.users.repository.PasswordResetTokenRepository;
@@ -20,18 +20,23 @@ public class PasswordResetService {
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
-    private final EmailService emailService;
+    private final EmailOutbox emailOutbox;
+    private final UserProfileCache profileCache;
+    private final EmailExistenceFilter emailFilter;
 
     public PasswordResetService(UserRepository userRepository, PasswordResetTokenRepository tokenRepository,
-            PasswordEncoder passwordEncoder, EmailService emailService) {
+            PasswordEncoder passwordEncoder, EmailOutbox emailOutbox, UserProfileCache profileCache,
+            EmailExistenceFilter emailFilter) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
         this.passwordEncoder = passwordEncoder;
-        this.emailService = emailService;
+        this.emailOutbox = emailOutbox;
+        this.profileCache = profileCache;
+        this.emailFilter = emailFilter;
     }
 
     public void requestPasswordReset(String email) {
-        User user = userRepository.findByEmail(email).orElse(null);
+        User user = emailFilter.mightExist(email) ? userRepository.findByEmail(email).orElse(null) : null;
 
         if (user == null) {
             log.warn("Password reset requested for non-existent email: {}", email);
@@ -46,14 +51,8 @@ public class PasswordResetService {
         PasswordResetToken token = new PasswordResetToken(user);
         tokenRepository.save(token);
 
-        try {
-            emailService.sendPasswordResetEmail(user.getEmail(), token.getToken());
-            log.info("Password reset code sent for user: {}", user.getId());
-        } catch (Exception e) {
-            log.error("Failed to send password reset email for user: {}", user.getId(), e);
-            tokenRepository.delete(token);
-            throw e;
-        }
+        emailOutbox.enqueuePasswordResetEmail(user.getEmail(), token.getToken());
+        log.info("Password reset code queued for user: {}", user.getId());
     }
 
     public void validateCode(String code) {
@@ -76,6 +75,7 @@ public class PasswordResetService {
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        profileCache.evict(user.getId());
 
         resetToken.markUsed();
         tokenRepository.save(resetToken);
@@ -0,0 +1,103 @@
+package br.com.riannegreiros.backend.users.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import br.com.riannegreiros.backend.config.TokenConfig;
+import br.com.riannegreiros.backend.config.TokenPair;
+import br.com.riannegreiros.backend.users.RefreshToken;
+import br.com.riannegreiros.backend.users.User;
+import br.com.riannegreiros.backend.users.repository.RefreshTokenRepository;
+import br.com.riannegreiros.backend.util.exceptions.AuthenticationException;
+import br.com.riannegreiros.backend.util.exceptions.RefreshTokenAlreadyUsedException;
+import jakarta.transaction.Transactional;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenConfig tokenConfig;
+    private final Duration reuseGrace;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenConfig tokenConfig,
+            @Value("${jwt.refresh-token-reuse-grace:PT10S}") Duration reuseGrace) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenConfig = tokenConfig;
+        this.reuseGrace = reuseGrace;
+    }
+
+    public TokenPair issueTokens(User user) {
+        return new TokenPair(tokenConfig.generateToken(user), issue(user, UUID.randomUUID()));
+    }
+
+    // Reuse of a rotated token means it leaked, so the whole family is revoked and that must survive the exception
+    @Transactional(dontRollbackOn = AuthenticationException.class)
+    public TokenPair rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+
+        // Tabs sharing the cookie, or a retry after a lost response, present the token again right after
+        // it was rotated; they are turned away without treating it as theft
+        if (current.isUsed() && current.wasUsedWithin(reuseGrace)) {
+            log.debug("Refresh token for user {} re-presented within the grace period", current.getUser().getId());
+            throw new RefreshTokenAlreadyUsedException("Refresh token already used");
+        }
+
+        if (current.isUsed()) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user: {}, revoked {} tokens in family {}",
+                    current.getUser().getId(), revoked, current.getFamilyId());
+            throw new AuthenticationException("Invalid refresh token");
+        }
+
+        if (current.isRevoked() || current.isExpired()) {
+            throw new AuthenticationException("Refresh token expired or revoked");
+        }
+
+        current.markUsed();
+
+        User user = current.getUser();
+        return new TokenPair(tokenConfig.generateToken(user), issue(user, current.getFamilyId()));
+    }
+
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    private String issue(User user, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(tokenConfig.getRefreshTokenTtl());
+        refreshTokenRepository.save(new RefreshToken(user, hash(rawToken), familyId, expiresAt));
+        return rawToken;
+    }
+
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
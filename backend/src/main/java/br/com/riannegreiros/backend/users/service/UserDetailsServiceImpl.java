@@ -2,32 +2,50 @@ package br.com.riannegreiros.backend.users.service;
 
 import org.springframework.stereotype.Service;
 
+import br.com.riannegreiros.backend.users.User;
 import br.com.riannegreiros.backend.users.repository.UserRepository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final EmailExistenceFilter emailFilter;
 
     private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, EmailExistenceFilter emailFilter) {
         this.userRepository = userRepository;
+        this.emailFilter = emailFilter;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Loading user by username={}", username);
+        if (!emailFilter.mightExist(username)) {
+            log.warn("User not found with username={}", username);
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+
         return userRepository.findByEmail(username)
                 .orElseThrow(() -> {
                     log.warn("User not found with username={}", username);
                     return new UsernameNotFoundException("User not found with username: " + username);
                 });
     }
+
+    // Called after a successful login when the stored hash uses an outdated algorithm or cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = (User) user;
+        entity.setPassword(newPassword);
+        log.info("Upgraded password hash for user: {}", entity.getId());
+        return userRepository.save(entity);
+    }
 }
@@ -0,0 +1,374 @@
+package br.com.riannegreiros.backend.users.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.riannegreiros.backend.config.BoundedPasswordEncoder;
+import br.com.riannegreiros.backend.email.services.EmailVerificationService;
+import br.com.riannegreiros.backend.users.dto.request.UserImportRow;
+import br.com.riannegreiros.backend.users.dto.response.UserImportEvent;
+import br.com.riannegreiros.backend.util.exceptions.InvalidFileException;
+import br.com.riannegreiros.backend.util.exceptions.ServiceOverloadedException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Imports accounts in bulk from CSV or NDJSON. Rows are read and validated one at a time while
+ * their passwords are hashed in the background; every chunk is then copied into a temporary table
+ * and moved into users with a single INSERT ... SELECT, so emails that already exist are skipped
+ * instead of failing the chunk. Nothing larger than a chunk is kept in memory.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMP TABLE user_import ("
+            + "line_no INTEGER NOT NULL, email VARCHAR(255) NOT NULL, first_name VARCHAR(255), "
+            + "last_name VARCHAR(255), password VARCHAR(255) NOT NULL) ON COMMIT DROP";
+
+    private static final String COPY_STAGING_TABLE =
+            "COPY user_import (line_no, email, first_name, last_name, password) FROM STDIN WITH (FORMAT csv)";
+
+    // Rows are inserted in file order, so when an email repeats the first occurrence wins
+    private static final String INSERT_USERS = """
+            INSERT INTO users (email, first_name, last_name, password, is_verified, profile_version,
+                    verification_version, created_at, updated_at)
+            SELECT email, first_name, last_name, password, FALSE, 0, 0, now(), now()
+            FROM user_import ORDER BY line_no
+            ON CONFLICT DO NOTHING
+            RETURNING id, email""";
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final EmailVerificationService emailVerificationService;
+    private final EmailExistenceFilter emailFilter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int hashingParallelism;
+
+    public UserImportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            BoundedPasswordEncoder passwordEncoder, EmailVerificationService emailVerificationService,
+            EmailExistenceFilter emailFilter, Validator validator, ObjectMapper objectMapper,
+            @Value("${app.import.chunk-size:1000}") int chunkSize,
+            @Value("${app.import.hashing-parallelism:0}") int hashingParallelism) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.emailVerificationService = emailVerificationService;
+        this.emailFilter = emailFilter;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.hashingParallelism = hashingParallelism > 0 ? hashingParallelism
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    public UserImportEvent importUsers(InputStream input, Format format, boolean sendVerification,
+            Consumer<UserImportEvent> listener) throws IOException {
+        ImportRun run = new ImportRun(listener, new Semaphore(hashingParallelism));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowParser parser;
+            int lineNumber = 0;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return run.finish();
+                }
+                parser = csvParser(header);
+            } else {
+                parser = line -> objectMapper.readValue(line, UserImportRow.class);
+            }
+
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.processed++;
+
+                UserImportRow row;
+                try {
+                    row = parser.parse(line);
+                } catch (IllegalArgumentException | JacksonException e) {
+                    run.reject(lineNumber, null, "Malformed row");
+                    continue;
+                }
+
+                String violation = validate(row);
+                if (violation != null) {
+                    run.reject(lineNumber, row.email(), violation);
+                    continue;
+                }
+
+                chunk.add(new PendingRow(lineNumber, row, hash(row, run.hashingPermits)));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, sendVerification, run);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, sendVerification, run);
+            }
+        }
+
+        log.info("User import finished: {} processed, {} imported, {} failed", run.processed, run.imported,
+                run.failed);
+        return run.finish();
+    }
+
+    private String validate(UserImportRow row) {
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (!row.hasSinglePassword()) {
+            return "Provide either a password or a password hash";
+        }
+        return null;
+    }
+
+    private CompletableFuture<String> hash(UserImportRow row, Semaphore permits) {
+        if (row.passwordHash() != null && !row.passwordHash().isEmpty()) {
+            return CompletableFuture.completedFuture("{bcrypt}" + row.passwordHash());
+        }
+
+        permits.acquireUninterruptibly();
+        while (true) {
+            try {
+                return passwordEncoder.encodeAsync(row.password()).whenComplete((hash, e) -> permits.release());
+            } catch (ServiceOverloadedException e) {
+                // Logins filled the hashing queue; they take priority, so wait for room
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException interrupted) {
+                    permits.release();
+                    Thread.currentThread().interrupt();
+                    throw new ServiceOverloadedException("User import was interrupted");
+                }
+            }
+        }
+    }
+
+    private void writeChunk(List<PendingRow> chunk, boolean sendVerification, ImportRun run) {
+        StringBuilder copyData = new StringBuilder(chunk.size() * 160);
+        List<PendingRow> hashed = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            try {
+                String passwordHash = pending.passwordHash().join();
+                UserImportRow row = pending.row();
+                copyData.append(pending.lineNumber()).append(',');
+                appendCsvField(copyData, row.email()).append(',');
+                appendCsvField(copyData, row.firstName()).append(',');
+                appendCsvField(copyData, row.lastName()).append(',');
+                appendCsvField(copyData, passwordHash).append('\n');
+                hashed.add(pending);
+            } catch (CompletionException e) {
+                log.warn("Password hashing failed for import line {}", pending.lineNumber(), e.getCause());
+                run.reject(pending.lineNumber(), pending.row().email(), "Password could not be hashed");
+            }
+        }
+        if (hashed.isEmpty()) {
+            run.progress();
+            return;
+        }
+
+        Map<String, Long> insertedIds;
+        try {
+            insertedIds = transactionTemplate.execute(status -> {
+                Map<String, Long> ids = copyAndInsert(copyData.toString());
+                if (sendVerification && !ids.isEmpty()) {
+                    emailVerificationService.sendVerifications(ids);
+                }
+                return ids;
+            });
+        } catch (DataAccessException e) {
+            log.error("User import chunk ending at line {} failed", chunk.get(chunk.size() - 1).lineNumber(), e);
+            hashed.forEach(pending -> run.reject(pending.lineNumber(), pending.row().email(),
+                    "Row could not be saved"));
+            run.progress();
+            return;
+        }
+
+        for (PendingRow pending : hashed) {
+            String email = pending.row().email();
+            if (insertedIds.remove(email) != null) {
+                emailFilter.add(email);
+                run.imported++;
+            } else {
+                run.reject(pending.lineNumber(), email, "Email already registered");
+            }
+        }
+        run.progress();
+    }
+
+    private Map<String, Long> copyAndInsert(String copyData) {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Long>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING_TABLE, new StringReader(copyData));
+            } catch (IOException e) {
+                throw new SQLException("Could not copy rows into the staging table", e);
+            }
+
+            Map<String, Long> ids = new HashMap<>();
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(INSERT_USERS)) {
+                while (resultSet.next()) {
+                    ids.put(resultSet.getString("email"), resultSet.getLong("id"));
+                }
+            }
+            return ids;
+        });
+    }
+
+    static StringBuilder appendCsvField(StringBuilder target, String value) {
+        return target.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static RowParser csvParser(String header) {
+        List<String> columns;
+        try {
+            columns = parseCsvLine(header);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFileException("Malformed CSV header");
+        }
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            index.put(columns.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!index.containsKey("email")) {
+            throw new InvalidFileException("CSV header must contain an email column");
+        }
+
+        return line -> {
+            List<String> fields = parseCsvLine(line);
+            return new UserImportRow(
+                    field(fields, index.get("email")),
+                    field(fields, index.get("firstname")),
+                    field(fields, index.get("lastname")),
+                    field(fields, index.get("password")),
+                    field(fields, index.get("passwordhash")));
+        };
+    }
+
+    private static String field(List<String> fields, Integer position) {
+        return position == null || position >= fields.size() ? null : fields.get(position);
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        UserImportRow parse(String line);
+    }
+
+    private record PendingRow(int lineNumber, UserImportRow row, CompletableFuture<String> passwordHash) {
+    }
+
+    private static final class ImportRun {
+        private final Consumer<UserImportEvent> listener;
+        private final Semaphore hashingPermits;
+        private long processed;
+        private long imported;
+        private long failed;
+
+        ImportRun(Consumer<UserImportEvent> listener, Semaphore hashingPermits) {
+            this.listener = listener;
+            this.hashingPermits = hashingPermits;
+        }
+
+        void reject(int lineNumber, String email, String error) {
+            failed++;
+            listener.accept(UserImportEvent.error(lineNumber, email, error));
+        }
+
+        void progress() {
+            listener.accept(UserImportEvent.progress(processed, imported, failed));
+        }
+
+        UserImportEvent finish() {
+            UserImportEvent summary = UserImportEvent.summary(processed, imported, failed);
+            listener.accept(summary);
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.riannegreiros.backend.users.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.riannegreiros.backend.users.dto.response.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class UserProfileCache {
+
+    private final Cache<Long, UserResponse> cache;
+
+    public UserProfileCache(MeterRegistry meterRegistry,
+            @Value("${app.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.user-cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.profiles");
+    }
+
+    public Optional<UserResponse> get(Long userId, Function<Long, UserResponse> loader) {
+        return Optional.ofNullable(cache.get(userId, loader));
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+
+        // A concurrent read could re-populate the entry with pre-commit data, so evict again once committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -2,15 +2,17 @@ package br.com.riannegreiros.backend.users.service;
 
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import br.com.riannegreiros.backend.avatar.service.AvatarVariants;
 import br.com.riannegreiros.backend.config.JWTUserData;
-import br.com.riannegreiros.backend.email.VerificationCode;
-import br.com.riannegreiros.backend.email.repository.VerificationCodeRepository;
-import br.com.riannegreiros.backend.email.services.EmailService;
+import br.com.riannegreiros.backend.config.TokenConfig;
+import br.com.riannegreiros.backend.email.services.EmailVerificationService;
 import br.com.riannegreiros.backend.users.User;
 import br.com.riannegreiros.backend.users.dto.request.UserRegisterRequest;
 import br.com.riannegreiros.backend.users.dto.request.UserUpdateRequest;
@@ -26,43 +28,46 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class UserService {
 
+    private static final String EMAIL_UNIQUE_INDEX = "ux_users_email_lower";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final EmailService emailService;
-    private final VerificationCodeRepository verificationCodeRepository;
+    private final EmailVerificationService emailVerificationService;
+    private final UserProfileCache profileCache;
+    private final TokenConfig tokenConfig;
+    private final EmailExistenceFilter emailFilter;
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-            EmailService emailService, VerificationCodeRepository verificationCodeRepository) {
+            EmailVerificationService emailVerificationService,
+            UserProfileCache profileCache, TokenConfig tokenConfig, EmailExistenceFilter emailFilter) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.emailService = emailService;
-        this.verificationCodeRepository = verificationCodeRepository;
+        this.emailVerificationService = emailVerificationService;
+        this.profileCache = profileCache;
+        this.tokenConfig = tokenConfig;
+        this.emailFilter = emailFilter;
     }
 
     public UserRegisterResponse registerUser(UserRegisterRequest request) {
-        if (userRepository.existsByEmail(request.email())) {
-            throw new EmailAlreadyExistsException(request.email());
-        }
-
         User newUser = new User();
         newUser.setEmail(request.email());
         newUser.setFirstName(request.firstName());
         newUser.setLastName(request.lastName());
         newUser.setPassword(passwordEncoder.encode(request.password()));
 
-        User savedUser = userRepository.save(newUser);
+        User savedUser = saveCheckingEmail(newUser);
+        emailFilter.add(savedUser.getEmail());
 
-        VerificationCode code = new VerificationCode(request.email());
-        verificationCodeRepository.save(code);
-        emailService.sendVerificationEmail(request.email(), code.getCode());
+        emailVerificationService.sendVerification(savedUser);
 
         return new UserRegisterResponse(
                 savedUser.getFirstName(),
                 savedUser.getLastName(),
                 savedUser.getEmail(),
-                "Verification code sent to " + request.email());
+                "Verification email sent to " + request.email());
     }
 
+    @Transactional(Transactional.TxType.SUPPORTS)
     public Optional<UserResponse> getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
@@ -73,24 +78,18 @@ public class UserService {
         Object principal = auth.getPrincipal();
 
         if (principal instanceof JWTUserData userData) {
-            User user = userRepository.findById(userData.userId()).orElse(null);
-            if (user != null) {
+            if (userData.hasProfile()) {
                 return Optional.of(new UserResponse(
                         userData.userId().toString(),
                         userData.email(),
                         userData.firstName(),
                         userData.lastName(),
-                        user.getAvatarUrl()));
+                        userData.avatarUrl(),
+                        AvatarVariants.urls(userData.avatarUrl())));
             }
-        }
 
-        if (principal instanceof User user) {
-            return Optional.of(new UserResponse(
-                    user.getId().toString(),
-                    user.getEmail(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    user.getAvatarUrl()));
+            return profileCache.get(userData.userId(),
+                    userId -> userRepository.findById(userId).map(this::toResponse).orElse(null));
         }
 
         return Optional.empty();
@@ -99,22 +98,29 @@ public class UserService {
     public UserResponse updateUser(UserUpdateRequest request) {
         User user = getCurrentUserEntity();
 
-        if (!user.getEmail().equals(request.email()) && userRepository.existsByEmail(request.email())) {
-            throw new EmailAlreadyExistsException(request.email());
-        }
-
         user.setFirstName(request.firstName());
         user.setLastName(request.lastName());
         user.setEmail(request.email());
+        user.touchProfile();
 
-        User savedUser = userRepository.save(user);
+        User savedUser = saveCheckingEmail(user);
+        emailFilter.add(savedUser.getEmail());
+        profileCache.evict(savedUser.getId());
 
-        return new UserResponse(
-                savedUser.getId().toString(),
-                savedUser.getEmail(),
-                savedUser.getFirstName(),
-                savedUser.getLastName(),
-                savedUser.getAvatarUrl());
+        return toResponse(savedUser);
+    }
+
+    // The unique index on lower(email) is the only check, so a duplicate costs no extra round trip
+    private User saveCheckingEmail(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && EMAIL_UNIQUE_INDEX.equals(violation.getConstraintName())) {
+                throw new EmailAlreadyExistsException(user.getEmail());
+            }
+            throw e;
+        }
     }
 
     public User getCurrentUserEntity() {
@@ -131,10 +137,20 @@ public class UserService {
                     .orElseThrow(() -> new UserNotFoundException("User not found"));
         }
 
-        if (principal instanceof User user) {
-            return user;
-        }
-
         throw new AuthenticationException("Invalid authentication principal");
     }
+
+    public String reissueToken() {
+        return tokenConfig.generateToken(getCurrentUserEntity());
+    }
+
+    private UserResponse toResponse(User user) {
+        return new UserResponse(
+                user.getId().toString(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getAvatarUrl(),
+                AvatarVariants.urls(user.getAvatarUrl()));
+    }
 }
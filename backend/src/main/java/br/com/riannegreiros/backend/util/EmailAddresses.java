@@ -0,0 +1,14 @@
+package br.com.riannegreiros.backend.util;
+
+import java.util.Locale;
+
+public final class EmailAddresses {
+
+    private EmailAddresses() {
+    }
+
+    // Emails are stored and compared lowercased; users.email has a unique index on lower(email)
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.riannegreiros.backend.util.exceptions;
+
+public class RefreshTokenAlreadyUsedException extends AuthenticationException {
+    public RefreshTokenAlreadyUsedException(String message) {
+        super(message);
+    }
+}
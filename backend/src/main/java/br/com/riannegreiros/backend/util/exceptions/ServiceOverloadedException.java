@@ -0,0 +1,9 @@
+package br.com.riannegreiros.backend.util.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceOverloadedException extends ApiException {
+    public ServiceOverloadedException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
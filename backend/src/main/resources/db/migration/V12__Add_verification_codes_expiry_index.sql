@@ -0,0 +1 @@
+CREATE INDEX idx_verification_codes_expires_at ON verification_codes(expires_at);
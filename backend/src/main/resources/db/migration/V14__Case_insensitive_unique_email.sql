@@ -0,0 +1,31 @@
+-- The UNIQUE constraint already indexes email, so idx_users_email was a duplicate
+DROP INDEX IF EXISTS idx_users_email;
+
+-- Accounts that differ only by case or surrounding spaces can't be merged automatically; stop with
+-- the offending addresses so they can be resolved by hand before migrating
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(normalized, ', ')
+    INTO duplicates
+    FROM (
+        SELECT lower(trim(email)) AS normalized
+        FROM users
+        GROUP BY 1
+        HAVING count(*) > 1
+        ORDER BY 1
+    ) collisions;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot make emails case-insensitive, several users share each of: %', duplicates
+            USING HINT = 'Merge or rename these accounts, then re-run the migration.';
+    END IF;
+END $$;
+
+-- Dropped first so normalizing never trips over the old case-sensitive constraint
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+
+UPDATE users SET email = lower(trim(email)) WHERE email <> lower(trim(email));
+
+CREATE UNIQUE INDEX ux_users_email_lower ON users (lower(email));
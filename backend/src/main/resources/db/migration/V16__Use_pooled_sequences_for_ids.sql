@@ -0,0 +1,38 @@
+-- Hibernate's pooled optimizer reserves 50 ids per nextval, so inserts no longer need a round trip each.
+-- Sequence names are Hibernate's implicit <Entity>_SEQ after the snake_case naming strategy; raw inserts can keep using the column default.
+
+CREATE SEQUENCE user_seq INCREMENT BY 50;
+SELECT setval('user_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('user_seq');
+ALTER SEQUENCE user_seq OWNED BY users.id;
+DROP SEQUENCE users_id_seq;
+
+CREATE SEQUENCE verification_code_seq INCREMENT BY 50;
+SELECT setval('verification_code_seq', COALESCE((SELECT MAX(id) FROM verification_codes), 0) + 50);
+ALTER TABLE verification_codes ALTER COLUMN id SET DEFAULT nextval('verification_code_seq');
+ALTER SEQUENCE verification_code_seq OWNED BY verification_codes.id;
+DROP SEQUENCE verification_codes_id_seq;
+
+CREATE SEQUENCE password_reset_token_seq INCREMENT BY 50;
+SELECT setval('password_reset_token_seq', COALESCE((SELECT MAX(id) FROM password_reset_tokens), 0) + 50);
+ALTER TABLE password_reset_tokens ALTER COLUMN id SET DEFAULT nextval('password_reset_token_seq');
+ALTER SEQUENCE password_reset_token_seq OWNED BY password_reset_tokens.id;
+DROP SEQUENCE password_reset_tokens_id_seq;
+
+CREATE SEQUENCE refresh_token_seq INCREMENT BY 50;
+SELECT setval('refresh_token_seq', COALESCE((SELECT MAX(id) FROM refresh_tokens), 0) + 50);
+ALTER TABLE refresh_tokens ALTER COLUMN id SET DEFAULT nextval('refresh_token_seq');
+ALTER SEQUENCE refresh_token_seq OWNED BY refresh_tokens.id;
+DROP SEQUENCE refresh_tokens_id_seq;
+
+CREATE SEQUENCE revoked_token_seq INCREMENT BY 50;
+SELECT setval('revoked_token_seq', COALESCE((SELECT MAX(id) FROM revoked_tokens), 0) + 50);
+ALTER TABLE revoked_tokens ALTER COLUMN id SET DEFAULT nextval('revoked_token_seq');
+ALTER SEQUENCE revoked_token_seq OWNED BY revoked_tokens.id;
+DROP SEQUENCE revoked_tokens_id_seq;
+
+CREATE SEQUENCE email_outbox_message_seq INCREMENT BY 50;
+SELECT setval('email_outbox_message_seq', COALESCE((SELECT MAX(id) FROM email_outbox), 0) + 50);
+ALTER TABLE email_outbox ALTER COLUMN id SET DEFAULT nextval('email_outbox_message_seq');
+ALTER SEQUENCE email_outbox_message_seq OWNED BY email_outbox.id;
+DROP SEQUENCE email_outbox_id_seq;
@@ -0,0 +1,6 @@
+-- Avatars are stored once per distinct upload (keyed by its SHA-256) and shared by every user pointing at them
+CREATE TABLE avatar_blobs (
+    hash CHAR(64) PRIMARY KEY,
+    ref_count INTEGER NOT NULL CHECK (ref_count >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
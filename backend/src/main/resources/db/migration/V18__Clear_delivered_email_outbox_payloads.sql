@@ -0,0 +1,5 @@
+-- The payload holds the code, token or signed link being mailed; it is cleared once the message is
+-- SENT or DEAD so finished rows no longer carry live secrets.
+ALTER TABLE email_outbox ALTER COLUMN payload DROP NOT NULL;
+
+UPDATE email_outbox SET payload = NULL WHERE status IN ('SENT', 'DEAD');
@@ -0,0 +1,2 @@
+-- Lets the janitor find finished messages past their retention without scanning pending ones
+CREATE INDEX idx_email_outbox_finished ON email_outbox(created_at) WHERE status IN ('SENT', 'DEAD');
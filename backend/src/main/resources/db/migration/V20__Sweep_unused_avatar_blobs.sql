@@ -0,0 +1,5 @@
+-- Rows whose count drops to zero are kept until the sweep deletes their objects under the row lock;
+-- updated_at tells it how long an avatar has been unused
+ALTER TABLE avatar_blobs ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_avatar_blobs_unused ON avatar_blobs(updated_at) WHERE ref_count = 0;
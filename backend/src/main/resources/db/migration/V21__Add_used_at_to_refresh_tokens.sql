@@ -0,0 +1,2 @@
+-- When a token was rotated, so a re-presentation seconds later is not mistaken for theft
+ALTER TABLE refresh_tokens ADD COLUMN used_at TIMESTAMP;
@@ -0,0 +1,60 @@
+package br.com.riannegreiros.backend.avatar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AvatarVariantsTest {
+
+	private static final String HASH = "3fa1c0ffee0123456789abcdef0123456789abcdef0123456789abcdef012345";
+	private static final String BASE_URL = "https://storage.googleapis.com/bucket/";
+
+	@Test
+	void shardsTheBaseKeyByContentHash() {
+		assertThat(AvatarVariants.baseKey(HASH)).isEqualTo("avatars/3f/a1/" + HASH);
+	}
+
+	@Test
+	void readsTheHashBackFromTheLargestVariantUrl() {
+		String url = BASE_URL + AvatarVariants.key(AvatarVariants.baseKey(HASH), AvatarVariants.LARGEST);
+
+		assertThat(AvatarVariants.contentHash(url)).contains(HASH);
+	}
+
+	@Test
+	void hasNoHashForAvatarsStoredBeforeContentAddressing() {
+		assertThat(AvatarVariants.contentHash(null)).isEmpty();
+		assertThat(AvatarVariants.contentHash(BASE_URL + "avatars/user_5_1b2c3d.png")).isEmpty();
+		assertThat(AvatarVariants.contentHash(BASE_URL + "avatars/ab/cd/user_5_abcd_256.jpg")).isEmpty();
+		assertThat(AvatarVariants.contentHash("https://lh3.googleusercontent.com/a/photo")).isEmpty();
+	}
+
+	@Test
+	void ignoresSmallerVariantsAndMalformedHashes() {
+		String base = BASE_URL + AvatarVariants.baseKey(HASH);
+
+		assertThat(AvatarVariants.contentHash(base + "_64.jpg")).isEmpty();
+		assertThat(AvatarVariants.contentHash(base.toUpperCase() + "_256.jpg")).isEmpty();
+		assertThat(AvatarVariants.contentHash(BASE_URL + "avatars/3f/a1/" + HASH.substring(1) + "_256.jpg")).isEmpty();
+	}
+
+	@Test
+	void derivesEverySizeFromTheLargestVariant() {
+		String base = BASE_URL + AvatarVariants.baseKey(HASH);
+
+		assertThat(AvatarVariants.urls(base + "_256.jpg"))
+				.containsEntry(256, base + "_256.jpg")
+				.containsEntry(128, base + "_128.jpg")
+				.containsEntry(64, base + "_64.jpg");
+		assertThat(AvatarVariants.storedUrls(base + "_256.jpg")).hasSize(3);
+	}
+
+	@Test
+	void usesASingleUrlForEverySizeOfOtherAvatars() {
+		String picture = "https://lh3.googleusercontent.com/a/photo";
+
+		assertThat(AvatarVariants.urls(picture)).containsOnlyKeys(256, 128, 64).containsValue(picture);
+		assertThat(AvatarVariants.storedUrls(picture)).containsExactly(picture);
+		assertThat(AvatarVariants.urls(null)).isEmpty();
+	}
+}
@@ -0,0 +1,50 @@
+package br.com.riannegreiros.backend.avatar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class ImageTypeTest {
+
+	@Test
+	void detectsJpeg() {
+		assertThat(ImageType.detect(bytes(0xFF, 0xD8, 0xFF, 0xE0, 0x00, 0x10, 'J', 'F'))).contains(ImageType.JPEG);
+	}
+
+	@Test
+	void detectsPng() {
+		assertThat(ImageType.detect(bytes(0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'))).contains(ImageType.PNG);
+	}
+
+	@Test
+	void detectsGif() {
+		assertThat(ImageType.detect("GIF89a\u0001\u0000".getBytes(StandardCharsets.ISO_8859_1)))
+				.contains(ImageType.GIF);
+		assertThat(ImageType.detect("GIF87a".getBytes(StandardCharsets.ISO_8859_1))).contains(ImageType.GIF);
+	}
+
+	@Test
+	void rejectsOtherContent() {
+		assertThat(ImageType.detect("<html><b".getBytes(StandardCharsets.US_ASCII))).isEmpty();
+		assertThat(ImageType.detect(bytes('R', 'I', 'F', 'F', 0, 0, 0, 0))).isEmpty();
+		// A PNG signature with the line-ending bytes mangled by a text-mode transfer
+		assertThat(ImageType.detect(bytes(0x89, 'P', 'N', 'G', '\n', 0x1A, '\n', 0))).isEmpty();
+	}
+
+	@Test
+	void rejectsHeadersShorterThanTheSignature() {
+		assertThat(ImageType.detect(new byte[0])).isEmpty();
+		assertThat(ImageType.detect(bytes(0xFF, 0xD8))).isEmpty();
+		assertThat(ImageType.detect(bytes(0x89, 'P', 'N', 'G', '\r', '\n', 0x1A))).isEmpty();
+	}
+
+	private static byte[] bytes(int... values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+}
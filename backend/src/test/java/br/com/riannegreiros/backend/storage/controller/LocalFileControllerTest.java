@@ -0,0 +1,152 @@
+package br.com.riannegreiros.backend.storage.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.riannegreiros.backend.storage.service.LocalFileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalFileControllerTest {
+
+	private static final String KEY = "avatars/ab/cd/abcd_256.jpg";
+
+	@TempDir
+	Path directory;
+
+	private final byte[] content = new byte[100];
+	private Path root;
+	private LocalFileStorageService storageService;
+	private LocalFileController controller;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		root = directory.resolve("storage");
+		storageService = new LocalFileStorageService(new SimpleMeterRegistry(), root.toString(),
+				"http://localhost:8080/api/files");
+		storageService.store(KEY, "image/jpeg", content);
+		controller = new LocalFileController(storageService, Duration.ofDays(365));
+	}
+
+	@Test
+	void servesTheWholeFile() throws IOException {
+		MockHttpServletResponse response = serve(KEY, null);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsByteArray()).isEqualTo(content);
+		assertThat(response.getContentType()).isEqualTo("image/jpeg");
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+		assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("inline");
+	}
+
+	@Test
+	void servesASingleRange() throws IOException {
+		MockHttpServletResponse response = serve(KEY, "bytes=10-19");
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+		assertThat(response.getContentLengthLong()).isEqualTo(10);
+		assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 10, 20));
+	}
+
+	@Test
+	void servesASuffixRange() throws IOException {
+		MockHttpServletResponse response = serve(KEY, "bytes=-5");
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 95-99/100");
+		assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 95, 100));
+	}
+
+	@Test
+	void rejectsARangePastTheEnd() throws IOException {
+		MockHttpServletResponse response = serve(KEY, "bytes=200-300");
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void sendsTheWholeFileForSeveralRanges() throws IOException {
+		MockHttpServletResponse response = serve(KEY, "bytes=0-9,20-29");
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsByteArray()).isEqualTo(content);
+	}
+
+	@Test
+	void answersNotModifiedForAMatchingETag() throws IOException {
+		String etag = serve(KEY, null).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletRequest request = request(KEY);
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.serve(request, response);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void servesTheFileForAStaleETag() throws IOException {
+		MockHttpServletRequest request = request(KEY);
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stale\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.serve(request, response);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsByteArray()).isEqualTo(content);
+	}
+
+	@Test
+	void hidesMissingFilesTempFilesAndPathsOutsideTheRoot() throws IOException {
+		Files.writeString(root.resolve("avatars/ab/cd/.upload-123.tmp"), "partial");
+		Files.writeString(directory.resolve("outside.jpg"), "secret");
+
+		assertThat(serve("avatars/ab/cd/missing_256.jpg", null).getStatus()).isEqualTo(404);
+		assertThat(serve("avatars/ab/cd/.upload-123.tmp", null).getStatus()).isEqualTo(404);
+		assertThat(serve("../outside.jpg", null).getStatus()).isEqualTo(404);
+		assertThat(serve("avatars", null).getStatus()).isEqualTo(404);
+	}
+
+	@Test
+	void downloadsAnythingThatIsNotAnImage() throws IOException {
+		storageService.store("other/page.html", "text/html", "<script>alert(1)</script>".getBytes());
+
+		MockHttpServletResponse response = serve("other/page.html", null);
+
+		assertThat(response.getContentType()).isEqualTo("application/octet-stream");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment");
+	}
+
+	private MockHttpServletResponse serve(String key, String range) throws IOException {
+		MockHttpServletRequest request = request(key);
+		if (range != null) {
+			request.addHeader(HttpHeaders.RANGE, range);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.serve(request, response);
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String key) {
+		return new MockHttpServletRequest("GET", LocalFileController.BASE_PATH + "/" + key);
+	}
+}
@@ -0,0 +1,132 @@
+package br.com.riannegreiros.backend.users.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailExistenceFilterTest {
+
+	private final List<String> emails = new ArrayList<>();
+	private final List<String> updatedEmails = new ArrayList<>();
+	private EmailExistenceFilter filter;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		Connection connection = mock(Connection.class);
+		Statement statement = mock(Statement.class);
+		PreparedStatement updatedSince = mock(PreparedStatement.class);
+		DataSource dataSource = mock(DataSource.class);
+
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(statement);
+		when(connection.prepareStatement(anyString())).thenReturn(updatedSince);
+		when(statement.executeQuery(anyString())).thenAnswer(invocation -> {
+			String sql = invocation.getArgument(0);
+			if (sql.equals("SELECT LOCALTIMESTAMP")) {
+				return rows(List.of(LocalDateTime.now()));
+			}
+			return sql.startsWith("SELECT count(*)") ? rows(List.of((long) emails.size())) : rows(emails);
+		});
+		when(updatedSince.executeQuery()).thenAnswer(invocation -> rows(updatedEmails));
+
+		filter = new EmailExistenceFilter(dataSource, mock(PlatformTransactionManager.class),
+				new SimpleMeterRegistry(), 0.01, 1_000);
+	}
+
+	@Test
+	void reportsEveryEmailBeforeTheFirstBuild() {
+		assertThat(filter.mightExist("nobody@example.com")).isTrue();
+	}
+
+	@Test
+	void findsEveryRegisteredEmailAfterRebuild() {
+		for (int i = 0; i < 500; i++) {
+			emails.add("user" + i + "@example.com");
+		}
+
+		filter.rebuild();
+
+		for (int i = 0; i < 500; i++) {
+			assertThat(filter.mightExist("user" + i + "@example.com")).isTrue();
+		}
+	}
+
+	@Test
+	void normalizesTheLookedUpEmail() {
+		emails.add("alice@example.com");
+
+		filter.rebuild();
+
+		assertThat(filter.mightExist("  Alice@Example.COM ")).isTrue();
+	}
+
+	@Test
+	void rejectsMostUnknownEmails() {
+		for (int i = 0; i < 500; i++) {
+			emails.add("user" + i + "@example.com");
+		}
+		filter.rebuild();
+
+		long misses = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (!filter.mightExist("stranger" + i + "@example.org")) {
+				misses++;
+			}
+		}
+
+		assertThat(misses).isGreaterThan(9_700);
+	}
+
+	@Test
+	void picksUpEmailsAddedLocallyAndByPolling() {
+		filter.rebuild();
+
+		filter.add("Local@Example.com");
+		updatedEmails.add("remote@example.com");
+		filter.poll();
+
+		assertThat(filter.mightExist("local@example.com")).isTrue();
+		assertThat(filter.mightExist("remote@example.com")).isTrue();
+	}
+
+	private static ResultSet rows(List<?> values) throws SQLException {
+		Iterator<?> iterator = values.iterator();
+		Object[] current = new Object[1];
+		ResultSet resultSet = mock(ResultSet.class);
+		ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+
+		when(metaData.getColumnCount()).thenReturn(1);
+		when(resultSet.getMetaData()).thenReturn(metaData);
+		when(resultSet.next()).thenAnswer(invocation -> {
+			if (!iterator.hasNext()) {
+				return false;
+			}
+			current[0] = iterator.next();
+			return true;
+		});
+		when(resultSet.getString(1)).thenAnswer(invocation -> (String) current[0]);
+		when(resultSet.getLong(1)).thenAnswer(invocation -> (Long) current[0]);
+		when(resultSet.getObject(1, LocalDateTime.class)).thenAnswer(invocation -> (LocalDateTime) current[0]);
+		return resultSet;
+	}
+}
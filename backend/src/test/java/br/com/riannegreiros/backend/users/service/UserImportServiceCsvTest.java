@@ -0,0 +1,55 @@
+package br.com.riannegreiros.backend.users.service;
+
+import static br.com.riannegreiros.backend.users.service.UserImportService.appendCsvField;
+import static br.com.riannegreiros.backend.users.service.UserImportService.parseCsvLine;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class UserImportServiceCsvTest {
+
+	@Test
+	void splitsPlainFields() {
+		assertThat(parseCsvLine("a@example.com,Ana,Silva,secret123"))
+				.containsExactly("a@example.com", "Ana", "Silva", "secret123");
+	}
+
+	@Test
+	void keepsEmptyFields() {
+		assertThat(parseCsvLine("a@example.com,,,")).containsExactly("a@example.com", "", "", "");
+		assertThat(parseCsvLine("")).containsExactly("");
+	}
+
+	@Test
+	void keepsCommasInsideQuotedFields() {
+		assertThat(parseCsvLine("a@example.com,\"Silva, Ana\",x"))
+				.containsExactly("a@example.com", "Silva, Ana", "x");
+	}
+
+	@Test
+	void unescapesDoubledQuotes() {
+		assertThat(parseCsvLine("\"say \"\"hi\"\"\",\"\"\"\",\"\""))
+				.containsExactly("say \"hi\"", "\"", "");
+	}
+
+	@Test
+	void rejectsUnterminatedQuotes() {
+		assertThatThrownBy(() -> parseCsvLine("a@example.com,\"Ana"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void readsBackWhatItWritesForCopy() {
+		String[] values = { "a@example.com", "O'Neil, \"Jr\"", "", "p,a\"ss" };
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				line.append(',');
+			}
+			appendCsvField(line, values[i]);
+		}
+
+		assertThat(parseCsvLine(line.toString())).containsExactly(values);
+	}
+}
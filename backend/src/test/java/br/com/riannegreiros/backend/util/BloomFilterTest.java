@@ -0,0 +1,64 @@
+package br.com.riannegreiros.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void neverReportsAnInsertedValueAsMissing() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+		}
+	}
+
+	@Test
+	void keepsFalsePositivesNearTheConfiguredRate() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		int falsePositives = 0;
+		int lookups = 100_000;
+		for (int i = 0; i < lookups; i++) {
+			if (filter.mightContain("other" + i + "@example.org")) {
+				falsePositives++;
+			}
+		}
+
+		// Filled to its expected size, so the rate should land close to 1%
+		assertThat((double) falsePositives / lookups).isLessThan(0.02);
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = BloomFilter.create(100, 0.01);
+
+		assertThat(filter.mightContain("")).isFalse();
+		assertThat(filter.mightContain("someone@example.com")).isFalse();
+	}
+
+	@Test
+	void sizesBitsAndHashesFromTheExpectedLoad() {
+		BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+		// m = -n ln p / (ln 2)^2 ~ 9586 bits, rounded up to whole words; k = m/n ln 2 ~ 7
+		assertThat(filter.bitSize()).isEqualTo(9600);
+		assertThat(filter.hashFunctions()).isEqualTo(7);
+		assertThat(filter.memoryBytes()).isEqualTo(1200);
+	}
+
+	@Test
+	void rejectsRatesOutsideZeroAndOne() {
+		assertThatThrownBy(() -> BloomFilter.create(100, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BloomFilter.create(100, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
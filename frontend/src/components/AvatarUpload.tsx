@@ -8,6 +8,7 @@ import { Avatar, AvatarFallback, AvatarImage } from '@/components/ui/avatar'
 import { Camera, Trash2, Loader2 } from 'lucide-react'
 import { toast } from 'sonner'
 import { useAuth } from '@/hooks/useAuth'
+import { authFetch } from '@/services/authService'
 import {
   validateFile,
   extractErrorMessage,
@@ -59,12 +60,10 @@ export default function AvatarUpload({
 
     setIsUploading(true)
     try {
-      const formData = new FormData()
-      formData.append('file', file)
-
-      const response = await fetch(`${import.meta.env.VITE_API_URL}/avatar`, {
-        method: 'POST',
-        body: formData,
+      const response = await authFetch(`${import.meta.env.VITE_API_URL}/avatar`, {
+        method: 'PUT',
+        headers: { 'Content-Type': file.type || 'application/octet-stream' },
+        body: file,
         credentials: 'include',
       })
 
@@ -106,7 +105,7 @@ export default function AvatarUpload({
     setUploadError(null)
     setIsDeleting(true)
     try {
-      const response = await fetch(`${import.meta.env.VITE_API_URL}/avatar`, {
+      const response = await authFetch(`${import.meta.env.VITE_API_URL}/avatar`, {
         method: 'DELETE',
         credentials: 'include',
       })
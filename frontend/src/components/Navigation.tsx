@@ -63,7 +63,11 @@ export default function Navigation() {
                     <Avatar className="h-8 w-8 ring-2 ring-primary/20">
                       {user?.avatar_url && (
                         <AvatarImage
-                          src={user.avatar_url || '/placeholder.svg'}
+                          src={
+                            user.avatar_variants?.['64'] ||
+                            user.avatar_url ||
+                            '/placeholder.svg'
+                          }
                           alt={
                             `${user.firstName} ${user.lastName}` || user.email
                           }
@@ -145,7 +149,11 @@ export default function Navigation() {
                     <Avatar className="h-8 w-8">
                       {user?.avatar_url && (
                         <AvatarImage
-                          src={user.avatar_url || '/placeholder.svg'}
+                          src={
+                            user.avatar_variants?.['64'] ||
+                            user.avatar_url ||
+                            '/placeholder.svg'
+                          }
                         />
                       )}
                       <AvatarFallback className="bg-primary/10 text-primary text-sm">
@@ -9,6 +9,7 @@ import { Button } from '@/components/ui/button'
 import { Loader2, User, Mail } from 'lucide-react'
 import { toast } from 'sonner'
 import { useAuth } from '@/hooks/useAuth'
+import { authFetch } from '@/services/authService'
 
 export default function ProfileContent() {
   const { user, refreshUser } = useAuth()
@@ -58,7 +59,7 @@ export default function ProfileContent() {
 
     setIsUpdating(true)
     try {
-      const response = await fetch(
+      const response = await authFetch(
         `${import.meta.env.VITE_API_URL}/user/profile`,
         {
           method: 'PUT',
@@ -6,10 +6,52 @@ export interface User {
   firstName: string
   lastName: string
   avatar_url?: string
+  avatar_variants?: Record<string, string>
 }
 
 const API_URL = import.meta.env.VITE_API_URL
 
+const NO_REFRESH_ENDPOINTS = [
+  '/auth/login',
+  '/auth/register',
+  '/auth/refresh',
+  '/auth/logout',
+]
+
+let refreshInFlight: Promise<boolean> | null = null
+
+function refreshSession(): Promise<boolean> {
+  if (!refreshInFlight) {
+    refreshInFlight = fetch(`${API_URL}/auth/refresh`, {
+      method: 'POST',
+      credentials: 'include',
+    })
+      .then((response) => response.ok)
+      .catch(() => false)
+      .finally(() => {
+        refreshInFlight = null
+      })
+  }
+  return refreshInFlight
+}
+
+export async function authFetch(
+  input: string,
+  init: RequestInit = {}
+): Promise<Response> {
+  const request = () => fetch(input, { credentials: 'include', ...init })
+  const response = await request()
+
+  const endpoint = input.startsWith(API_URL)
+    ? input.slice(API_URL.length)
+    : input
+  if (response.status !== 401 || NO_REFRESH_ENDPOINTS.includes(endpoint)) {
+    return response
+  }
+
+  return (await refreshSession()) ? request() : response
+}
+
 function mapUserData(data: any): User {
   return {
     id: data.id || data.userId || data.sub,
@@ -17,6 +59,7 @@ function mapUserData(data: any): User {
     firstName: data.firstName || data.given_name || data.name || '',
     lastName: data.lastName || data.family_name || '',
     avatar_url: data.avatarUrl || data.avatar_url || data.picture,
+    avatar_variants: data.avatarVariants,
   }
 }
 
@@ -24,8 +67,7 @@ async function apiCall(
   endpoint: string,
   options: RequestInit = {}
 ): Promise<Response> {
-  return fetch(`${API_URL}${endpoint}`, {
-    credentials: 'include',
+  return authFetch(`${API_URL}${endpoint}`, {
     ...options,
     headers: {
       'Content-Type': 'application/json',